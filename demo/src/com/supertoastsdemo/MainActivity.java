@@ -11,6 +11,7 @@ import com.actionbarsherlock.app.SherlockFragmentActivity;
 import com.actionbarsherlock.view.Menu;
 import com.actionbarsherlock.view.MenuInflater;
 import com.actionbarsherlock.view.MenuItem;
+import com.supertoastsdemo.examples.ExampleViewBenchmark;
 
 
 public class MainActivity extends SherlockFragmentActivity {
@@ -144,6 +145,12 @@ public class MainActivity extends SherlockFragmentActivity {
 
                 return true;
 
+            case R.id.benchmark:
+
+                startActivity(new Intent(MainActivity.this, ExampleViewBenchmark.class));
+
+                return true;
+
             default:
 
                 return super.onOptionsItemSelected(item);
@@ -0,0 +1,196 @@
+package com.supertoastsdemo.examples;
+
+import android.app.Activity;
+import android.os.Build;
+import android.os.Bundle;
+import android.view.View;
+import android.widget.Button;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+import com.github.johnpersano.supertoasts.SuperActivityToast;
+import com.github.johnpersano.supertoasts.SuperToast;
+import com.github.johnpersano.supertoasts.util.CollapseAnimator;
+import com.supertoastsdemo.R;
+
+import java.util.ArrayList;
+
+
+/**
+ * This class times how long it takes to create the view of each SuperActivityToast type
+ * when it is inflated from XML and when it is built in code. It also counts the layout
+ * passes of a CollapseAnimator.
+ */
+@SuppressWarnings("UnusedDeclaration")
+public class ExampleViewBenchmark extends Activity {
+
+    /* Views created before timing so class loading and resource caches do not count */
+    private static final int WARMUP_COUNT = 20;
+
+    /* Views created for each type in each mode */
+    private static final int VIEW_COUNT = 200;
+
+    /* The default size of the view pool of the library */
+    private static final int DEFAULT_VIEW_POOL_SIZE = 3;
+
+    /* Rows added to the collapse container and how many of them are collapsed */
+    private static final int ROW_COUNT = 6;
+    private static final int COLLAPSED_ROW_COUNT = 3;
+
+    private TextView mResultTextView;
+    private LinearLayout mCollapseContainer;
+
+    @Override
+    public void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.example_view_benchmark);
+
+        mResultTextView = (TextView) findViewById(R.id.result_textview);
+        mCollapseContainer = (LinearLayout) findViewById(R.id.collapse_container);
+
+        final Button runButton = (Button)
+                findViewById(R.id.run_button);
+        runButton.setOnClickListener(new View.OnClickListener() {
+
+            @Override
+            public void onClick(View view) {
+
+                mResultTextView.setText(runBenchmark());
+
+            }
+        });
+
+        final Button collapseButton = (Button)
+                findViewById(R.id.collapse_button);
+        collapseButton.setOnClickListener(new View.OnClickListener() {
+
+            @Override
+            public void onClick(View view) {
+
+                if (Build.VERSION.SDK_INT < Build.VERSION_CODES.HONEYCOMB) {
+
+                    mResultTextView.setText(R.string.error_prehoneycomb);
+
+                } else {
+
+                    runCollapse();
+
+                }
+
+            }
+        });
+
+    }
+
+    /**
+     * Creates the views of every type with and without programmatic views and returns the
+     * average time per view in microseconds. The view pool is disabled so every view is new.
+     */
+    private String runBenchmark() {
+
+        final StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append(String.format("%-20s %8s %8s\n", "Type (us/view)", "XML", "Code"));
+
+        SuperToast.setViewPoolSize(0);
+
+        for (SuperToast.Type type : SuperToast.Type.values()) {
+
+            final long inflatedNanos = timeViews(type, false);
+            final long builtNanos = timeViews(type, true);
+
+            stringBuilder.append(String.format("%-20s %8d %8d\n", type,
+                    inflatedNanos / VIEW_COUNT / 1000, builtNanos / VIEW_COUNT / 1000));
+
+        }
+
+        SuperToast.setUseProgrammaticViews(false);
+        SuperToast.setViewPoolSize(DEFAULT_VIEW_POOL_SIZE);
+
+        return stringBuilder.toString();
+
+    }
+
+    /**
+     * Fills the collapse container with rows and collapses the first ones once they are laid
+     * out. The layout passes that ran while the collapse was running are shown when it ends,
+     * a collapse that does not relayout its parent shows zero.
+     */
+    private void runCollapse() {
+
+        mCollapseContainer.removeAllViews();
+
+        for (int i = 0; i < ROW_COUNT; i++) {
+
+            final TextView textView = new TextView(ExampleViewBenchmark.this);
+            textView.setText("Row " + i);
+            textView.setPadding(0, 16, 0, 16);
+
+            mCollapseContainer.addView(textView);
+
+        }
+
+        mCollapseContainer.post(new Runnable() {
+
+            @Override
+            public void run() {
+
+                final ArrayList<View> views = new ArrayList<View>();
+
+                for (int i = 0; i < COLLAPSED_ROW_COUNT; i++) {
+
+                    views.add(mCollapseContainer.getChildAt(i));
+
+                }
+
+                final CollapseAnimator collapseAnimator = new CollapseAnimator(views,
+                        getResources().getInteger(android.R.integer.config_mediumAnimTime));
+
+                collapseAnimator.start(new Runnable() {
+
+                    @Override
+                    public void run() {
+
+                        for (View view : views) {
+
+                            mCollapseContainer.removeView(view);
+
+                        }
+
+                        mResultTextView.setText("Layout passes during collapse: "
+                                + collapseAnimator.getLayoutCount());
+
+                    }
+
+                });
+
+            }
+
+        });
+
+    }
+
+    /**
+     * Returns the total time in nanoseconds it took to create the views of a type.
+     */
+    private long timeViews(SuperToast.Type type, boolean useProgrammaticViews) {
+
+        SuperToast.setUseProgrammaticViews(useProgrammaticViews);
+
+        for (int i = 0; i < WARMUP_COUNT; i++) {
+
+            new SuperActivityToast(ExampleViewBenchmark.this, type).getView();
+
+        }
+
+        final long startNanos = System.nanoTime();
+
+        for (int i = 0; i < VIEW_COUNT; i++) {
+
+            new SuperActivityToast(ExampleViewBenchmark.this, type).getView();
+
+        }
+
+        return System.nanoTime() - startNanos;
+
+    }
+
+}
@@ -0,0 +1,140 @@
+/**
+ *  Copyright 2014 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.github.johnpersano.supertoasts;
+
+import android.annotation.SuppressLint;
+import android.app.Activity;
+import android.app.Application;
+import android.os.Build;
+import android.os.Bundle;
+
+/**
+ * Purges the managers and the view pool of an Activity when it is destroyed so queued
+ * SuperActivityToasts and SuperCardToasts never keep a destroyed Activity alive. The
+ * callbacks need API 14, on older APIs
+ * {@link com.github.johnpersano.supertoasts.SuperActivityToast#clearSuperActivityToastsForActivity(android.app.Activity)}
+ * and {@link com.github.johnpersano.supertoasts.SuperCardToast#clearSuperCardToastsForActivity(android.app.Activity)}
+ * should be called from onDestroy().
+ */
+class ActivityLifecycleWatcher {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final String TAG = "ActivityLifecycleWatcher";
+
+    private static boolean sIsRegistered;
+
+    private ActivityLifecycleWatcher() {
+
+        /* Do nothing */
+
+    }
+
+    /**
+     * Registers the lifecycle callbacks with the Application of the Activity once.
+     */
+    @SuppressLint("NewApi")
+    static void register(Activity activity) {
+
+        if (sIsRegistered || activity == null
+                || Build.VERSION.SDK_INT < Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+
+            return;
+
+        }
+
+        final Application application = activity.getApplication();
+
+        if (application != null) {
+
+            application.registerActivityLifecycleCallbacks(new Callbacks());
+
+            sIsRegistered = true;
+
+        }
+
+    }
+
+    /**
+     * Removes everything the library holds for an Activity.
+     */
+    static void purge(Activity activity) {
+
+        ManagerSuperActivityToast.getInstance().cancelAllSuperActivityToastsForActivity(activity);
+
+        ManagerSuperCardToast.getInstance().cancelAllSuperCardToastsForActivity(activity);
+
+        ToastViewPool.getInstance().clear(activity);
+
+    }
+
+    /* Kept in its own class so it is never loaded below API 14 */
+    @SuppressLint("NewApi")
+    private static class Callbacks implements Application.ActivityLifecycleCallbacks {
+
+        @Override
+        public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+
+            /* Do nothing */
+
+        }
+
+        @Override
+        public void onActivityStarted(Activity activity) {
+
+            /* Do nothing */
+
+        }
+
+        @Override
+        public void onActivityResumed(Activity activity) {
+
+            /* Do nothing */
+
+        }
+
+        @Override
+        public void onActivityPaused(Activity activity) {
+
+            /* Do nothing */
+
+        }
+
+        @Override
+        public void onActivityStopped(Activity activity) {
+
+            /* Do nothing */
+
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+
+            /* Do nothing */
+
+        }
+
+        @Override
+        public void onActivityDestroyed(Activity activity) {
+
+            purge(activity);
+
+        }
+
+    }
+
+}
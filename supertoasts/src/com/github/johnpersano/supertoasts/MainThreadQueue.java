@@ -0,0 +1,120 @@
+/**
+ *  Copyright 2014 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.github.johnpersano.supertoasts;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/* Lock free queue that lets any thread hand work to the main thread */
+class MainThreadQueue extends Handler {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final String TAG = "MainThreadQueue";
+
+    /* Potential messages for the handler to send **/
+    private static final class Messages {
+
+        /* Hexadecimal numbers that represent acronyms for the operation **/
+        private static final int DRAIN = 0x445251;
+
+    }
+
+    private static final MainThreadQueue mMainThreadQueue = new MainThreadQueue();
+
+    private final ConcurrentLinkedQueue<Runnable> mQueue;
+
+    /* True while a drain message is pending so producers send at most one */
+    private final AtomicBoolean mIsDrainPending;
+
+    private MainThreadQueue() {
+
+        super(Looper.getMainLooper());
+
+        mQueue = new ConcurrentLinkedQueue<Runnable>();
+        mIsDrainPending = new AtomicBoolean();
+
+    }
+
+    static MainThreadQueue getInstance() {
+
+        return mMainThreadQueue;
+
+    }
+
+    /**
+     * Returns true if the calling thread is the main thread.
+     */
+    static boolean isMainThread() {
+
+        return Looper.myLooper() == Looper.getMainLooper();
+
+    }
+
+    /**
+     * Runs the Runnable on the main thread. Runnables submitted from the same
+     * thread run in the order they were submitted.
+     */
+    void execute(Runnable runnable) {
+
+        mQueue.offer(runnable);
+
+        if (mIsDrainPending.compareAndSet(false, true)) {
+
+            sendEmptyMessage(Messages.DRAIN);
+
+        }
+
+    }
+
+    @Override
+    public void handleMessage(Message message) {
+
+        switch (message.what) {
+
+            case Messages.DRAIN:
+
+                /* Cleared before draining so a Runnable offered during the drain is never missed */
+                mIsDrainPending.set(false);
+
+                Runnable runnable;
+
+                while ((runnable = mQueue.poll()) != null) {
+
+                    runnable.run();
+
+                }
+
+                break;
+
+            default: {
+
+                super.handleMessage(message);
+
+                break;
+
+            }
+
+        }
+
+    }
+
+}
@@ -19,13 +19,21 @@ package com.github.johnpersano.supertoasts;
 
 import android.app.Activity;
 import android.os.Handler;
+import android.os.Looper;
 import android.os.Message;
+import android.util.SparseArray;
+import android.view.Gravity;
 import android.view.View;
 import android.view.ViewGroup;
-import android.view.animation.*;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.WeakHashMap;
 
 /**
  * Manages the life of a SuperActivityToast. Initial code derived from the Crouton library.
@@ -35,76 +43,900 @@ class ManagerSuperActivityToast extends Handler {
     @SuppressWarnings("UnusedDeclaration")
     private static final String TAG = "ManagerSuperActivityToast";
 
+    /* Text of the summary SuperActivityToast used by the COLLAPSE_INTO_SUMMARY overflow policy */
+    private static final String SUMMARY_FORMAT = "%d new messages";
+
     /* Potential messages for the handler to send **/
     private static final class Messages {
 
-        /* Hexadecimal numbers that represent acronyms for the operation. **/
-        private static final int DISPLAY = 0x44534154;
-        private static final int REMOVE = 0x52534154;
+        /* Hexadecimal numbers that represent acronyms for the operation. **/
+        private static final int DISPLAY = 0x44534154;
+        private static final int REMOVE = 0x52534154;
+        private static final int RETRY = 0x52524154;
+        private static final int DIGEST = 0x44474154;
+
+    }
+
+    private static ManagerSuperActivityToast mManagerSuperActivityToast;
+
+    /* Each Activity has its own queue so SuperActivityToasts of one Activity never block another */
+    private final WeakHashMap<Activity, ActivityQueue> mQueues;
+
+    /* Amount of SuperActivityToasts discarded by each overflow policy */
+    private final int[] mOverflowCounts;
+
+    /* Maximum amount of pending SuperActivityToasts of an Activity and the policy used when it is reached */
+    private int mQueueCapacity = Integer.MAX_VALUE;
+    private SuperToast.OverflowPolicy mOverflowPolicy = SuperToast.OverflowPolicy.DROP_NEWEST;
+
+    private final RateLimiter mRateLimiter;
+
+    /* Maximum amount of SuperActivityToasts of an Activity that show at once, more than one are stacked */
+    private int mMaxVisible = 1;
+
+    /* Amount of pending SuperActivityToasts of an Activity that are collapsed into a summary by digest mode */
+    private int mDigestThreshold = Integer.MAX_VALUE;
+    private SuperToast.OnExpandListener mOnExpandListener;
+
+    /* Showing/pending SuperActivityToasts by key, cancelled ones stay queued until they reach the front.
+     * Held weakly so an entry that outlives its queue never keeps a SuperActivityToast alive.
+     * Synchronized since find() and cancel() can be called from any thread */
+    private final HashMap<String, WeakReference<SuperActivityToast>> mKeyIndex;
+
+    /* Private method to create a new map if the manager is being initialized */
+    private ManagerSuperActivityToast() {
+
+        /* Always handle messages on the main thread no matter which thread creates the manager */
+        super(Looper.getMainLooper());
+
+        mQueues = new WeakHashMap<Activity, ActivityQueue>();
+
+        mOverflowCounts = new int[SuperToast.OverflowPolicy.values().length];
+
+        mRateLimiter = new RateLimiter();
+
+        mKeyIndex = new HashMap<String, WeakReference<SuperActivityToast>>();
+
+    }
+
+    /**
+     * Singleton method to ensure all SuperActivityToasts are passed through the same manager.
+     */
+    protected static synchronized ManagerSuperActivityToast getInstance() {
+
+        if (mManagerSuperActivityToast != null) {
+
+            return mManagerSuperActivityToast;
+
+        } else {
+
+            mManagerSuperActivityToast = new ManagerSuperActivityToast();
+
+            return mManagerSuperActivityToast;
+
+        }
+
+    }
+
+    /**
+     * Add a SuperActivityToast to the queue of its Activity. Will show immediately if no other
+     * SuperActivityToasts are in the queue.
+     */
+    void add(SuperActivityToast superActivityToast) {
+
+        final ActivityQueue activityQueue = getQueue(superActivityToast.getActivity(), true);
+
+        if (activityQueue == null) {
+
+            return;
+
+        }
+
+        if (superActivityToast.isCancelled()) {
+
+            /* The SuperActivityToast was cancelled by key and is shown again, drop its old entry */
+            superActivityToast.setCancelled(false);
+            activityQueue.mList.remove(superActivityToast);
+            activityQueue.mDeferredList.remove(superActivityToast);
+
+        }
+
+        if (!mRateLimiter.tryAcquire(superActivityToast.getTag())) {
+
+            rateLimit(activityQueue, superActivityToast);
+
+            return;
+
+        }
+
+        this.enqueue(activityQueue, superActivityToast);
+
+    }
+
+    /**
+     * Returns the queue of an Activity, optionally creating it.
+     */
+    private ActivityQueue getQueue(Activity activity, boolean create) {
+
+        if (activity == null) {
+
+            return null;
+
+        }
+
+        ActivityQueue activityQueue = mQueues.get(activity);
+
+        if (activityQueue == null && create) {
+
+            activityQueue = new ActivityQueue();
+
+            mQueues.put(activity, activityQueue);
+
+        }
+
+        return activityQueue;
+
+    }
+
+    /**
+     * Removes the queue of an Activity once nothing is left in it.
+     */
+    private void removeQueueIfEmpty(Activity activity, ActivityQueue activityQueue) {
+
+        if (activityQueue.isEmpty() && mQueues.get(activity) == activityQueue) {
+
+            mQueues.remove(activity);
+
+        }
+
+    }
+
+    /**
+     * Add a SuperActivityToast to the queue if there is room and try to show it.
+     */
+    private void enqueue(ActivityQueue activityQueue, SuperActivityToast superActivityToast) {
+
+        if (getPendingCount(activityQueue) >= Math.min(mQueueCapacity, mDigestThreshold)) {
+
+            /* Cancelled SuperActivityToasts do not count towards the capacity */
+            purgeCancelled(activityQueue);
+
+        }
+
+        if (getPendingCount(activityQueue) >= mDigestThreshold) {
+
+            /* The backlog and the SuperActivityToast being added are replaced by a single summary */
+            collapseIntoSummary(activityQueue, superActivityToast, false);
+
+            return;
+
+        }
+
+        if (getPendingCount(activityQueue) >= mQueueCapacity
+                && !handleOverflow(activityQueue, superActivityToast)) {
+
+            /* The SuperActivityToast was discarded by the overflow policy */
+            removeQueueIfEmpty(superActivityToast.getActivity(), activityQueue);
+
+            return;
+
+        }
+
+        activityQueue.mList.add(superActivityToast);
+
+        this.index(superActivityToast);
+
+        if (activityQueue.mList.size() > mMaxVisible) {
+
+            /* Pending SuperActivityToasts do not keep a view that references the Activity */
+            superActivityToast.recycleView();
+
+        }
+
+        this.showNextSuperToast(activityQueue);
+
+    }
+
+    /**
+     * Cancels the showing/pending SuperActivityToast with the key. Returns true if one was found.
+     */
+    boolean cancel(String key) {
+
+        final WeakReference<SuperActivityToast> reference;
+
+        synchronized (mKeyIndex) {
+
+            reference = mKeyIndex.remove(key);
+
+        }
+
+        final SuperActivityToast superActivityToast = reference != null ? reference.get() : null;
+
+        if (superActivityToast == null) {
+
+            return false;
+
+        }
+
+        if (!MainThreadQueue.isMainThread()) {
+
+            /* The index is updated right away, the queue and the views are only touched on the main thread */
+            MainThreadQueue.getInstance().execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    cancel(superActivityToast);
+
+                }
+
+            });
+
+        } else {
+
+            this.cancel(superActivityToast);
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Removes a SuperActivityToast that was cancelled by key from the screen or its queue.
+     */
+    private void cancel(SuperActivityToast superActivityToast) {
+
+        final ActivityQueue activityQueue = getQueue(superActivityToast.getActivity(), false);
+
+        if (superActivityToast.isShowing() || activityQueue == null
+                || activityQueue.mList.peek() == superActivityToast
+                || hasMessages(Messages.DISPLAY, superActivityToast)) {
+
+            /* The visible front of a queue is removed in constant time */
+            this.removeSuperToast(superActivityToast);
+
+        } else {
+
+            /* Removing from the middle of the queue is linear so it is skipped when it reaches the front */
+            superActivityToast.setCancelled(true);
+
+        }
+
+    }
+
+    /**
+     * Returns the showing/pending SuperActivityToast with the key or null. Can be called from any thread.
+     */
+    SuperActivityToast find(String key) {
+
+        final WeakReference<SuperActivityToast> reference;
+
+        synchronized (mKeyIndex) {
+
+            reference = mKeyIndex.get(key);
+
+        }
+
+        return reference != null ? reference.get() : null;
+
+    }
+
+    /**
+     * Restarts the duration of a showing SuperActivityToast that was updated in place. A pending
+     * SuperActivityToast starts its duration when it is displayed.
+     */
+    void restartDuration(SuperActivityToast superActivityToast) {
+
+        if (!superActivityToast.isShowing()) {
+
+            return;
+
+        }
+
+        removeMessages(Messages.REMOVE, superActivityToast);
+
+        if (!superActivityToast.isIndeterminate()) {
+
+            sendMessageDelayed(obtainMessage(Messages.REMOVE, superActivityToast),
+                    superActivityToast.getDuration());
+
+        }
+
+    }
+
+    /**
+     * Adds a SuperActivityToast with a key to the index, a newer one replaces an older one.
+     */
+    private void index(SuperActivityToast superActivityToast) {
+
+        if (superActivityToast.getKey() != null) {
+
+            synchronized (mKeyIndex) {
+
+                mKeyIndex.put(superActivityToast.getKey(),
+                        new WeakReference<SuperActivityToast>(superActivityToast));
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Removes a SuperActivityToast from the index if the index still points to it.
+     */
+    private void unindex(SuperActivityToast superActivityToast) {
+
+        final String key = superActivityToast.getKey();
+
+        if (key == null) {
+
+            return;
+
+        }
+
+        synchronized (mKeyIndex) {
+
+            final WeakReference<SuperActivityToast> reference = mKeyIndex.get(key);
+
+            if (reference != null && reference.get() == superActivityToast) {
+
+                mKeyIndex.remove(key);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Removes all SuperActivityToasts of a queue that were cancelled by key.
+     */
+    private void purgeCancelled(ActivityQueue activityQueue) {
+
+        final Iterator<SuperActivityToast> listIterator = activityQueue.mList.iterator();
+
+        while (listIterator.hasNext()) {
+
+            if (listIterator.next().isCancelled()) {
+
+                listIterator.remove();
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Sets a rate limit for a tag or globally if the tag is null.
+     */
+    void setRateLimit(final String tag, final float permitsPerSecond, final int burst,
+                      final SuperToast.RateLimitPolicy rateLimitPolicy) {
+
+        if (!MainThreadQueue.isMainThread()) {
+
+            /* Applied on the main thread in order with the toasts shown from the same thread */
+            MainThreadQueue.getInstance().execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    setRateLimit(tag, permitsPerSecond, burst, rateLimitPolicy);
+
+                }
+
+            });
+
+            return;
+
+        }
+
+        mRateLimiter.setRateLimit(tag, permitsPerSecond, burst, rateLimitPolicy);
+
+    }
+
+    /**
+     * Applies the rate limit policy to a SuperActivityToast that exceeded its rate limit.
+     */
+    private void rateLimit(ActivityQueue activityQueue, SuperActivityToast superActivityToast) {
+
+        final long delay = mRateLimiter.getDelay(superActivityToast.getTag());
+
+        switch (mRateLimiter.getPolicy(superActivityToast.getTag())) {
+
+            case DEFER: {
+
+                activityQueue.mDeferredList.add(superActivityToast);
+
+                superActivityToast.recycleView();
+
+                this.index(superActivityToast);
+
+                if (!hasMessages(Messages.RETRY, activityQueue)) {
+
+                    sendMessageDelayed(obtainMessage(Messages.RETRY, activityQueue), delay);
+
+                }
+
+                break;
+
+            }
+
+            case DIGEST: {
+
+                activityQueue.mDigestSourceSuperActivityToast = superActivityToast;
+                activityQueue.mDigestCount++;
+
+                superActivityToast.recycleView();
+
+                if (!hasMessages(Messages.DIGEST, activityQueue)) {
+
+                    sendMessageDelayed(obtainMessage(Messages.DIGEST, activityQueue), delay);
+
+                }
+
+                break;
+
+            }
+
+            default: {
+
+                /* The SuperActivityToast is dropped */
+                removeQueueIfEmpty(superActivityToast.getActivity(), activityQueue);
+
+                break;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Adds deferred SuperActivityToasts that are no longer rate limited.
+     */
+    private void retryDeferredSuperToasts(ActivityQueue activityQueue) {
+
+        long nextDelay = Long.MAX_VALUE;
+
+        final Iterator<SuperActivityToast> deferredIterator = activityQueue.mDeferredList.iterator();
+
+        while (deferredIterator.hasNext()) {
+
+            final SuperActivityToast deferredSuperActivityToast = deferredIterator.next();
+
+            if (deferredSuperActivityToast.isCancelled()) {
+
+                deferredIterator.remove();
+
+            } else if (mRateLimiter.tryAcquire(deferredSuperActivityToast.getTag())) {
+
+                deferredIterator.remove();
+
+                this.enqueue(activityQueue, deferredSuperActivityToast);
+
+            } else {
+
+                nextDelay = Math.min(nextDelay, mRateLimiter
+                        .getDelay(deferredSuperActivityToast.getTag()));
+
+            }
+
+        }
+
+        if (!activityQueue.mDeferredList.isEmpty()) {
+
+            sendMessageDelayed(obtainMessage(Messages.RETRY, activityQueue), nextDelay);
+
+        }
+
+    }
+
+    /**
+     * Adds a single SuperActivityToast in place of all SuperActivityToasts folded by
+     * the DIGEST rate limit policy.
+     */
+    private void showDigestSuperToast(ActivityQueue activityQueue) {
+
+        if (activityQueue.mDigestCount == 0 || activityQueue.mDigestSourceSuperActivityToast == null
+                || activityQueue.mDigestSourceSuperActivityToast.getActivity() == null) {
+
+            return;
+
+        }
+
+        final SuperActivityToast digestSuperActivityToast = new SuperActivityToast(
+                activityQueue.mDigestSourceSuperActivityToast.getActivity());
+        digestSuperActivityToast.setText(String.format(SUMMARY_FORMAT, activityQueue.mDigestCount));
+
+        activityQueue.mDigestSourceSuperActivityToast = null;
+        activityQueue.mDigestCount = 0;
+
+        this.enqueue(activityQueue, digestSuperActivityToast);
+
+    }
+
+    /**
+     * Sets the maximum amount of pending SuperActivityToasts and the policy used when it is reached.
+     */
+    void setQueueCapacity(final int queueCapacity, final SuperToast.OverflowPolicy overflowPolicy) {
+
+        if (!MainThreadQueue.isMainThread()) {
+
+            MainThreadQueue.getInstance().execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    setQueueCapacity(queueCapacity, overflowPolicy);
+
+                }
+
+            });
+
+            return;
+
+        }
+
+        this.mQueueCapacity = Math.max(1, queueCapacity);
+        this.mOverflowPolicy = overflowPolicy;
+
+    }
+
+    /**
+     * Sets the maximum amount of SuperActivityToasts of an Activity that show at once.
+     */
+    void setMaxVisible(final int maxVisible) {
+
+        if (!MainThreadQueue.isMainThread()) {
+
+            MainThreadQueue.getInstance().execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    setMaxVisible(maxVisible);
+
+                }
+
+            });
+
+            return;
+
+        }
+
+        this.mMaxVisible = Math.max(1, maxVisible);
+
+    }
+
+    /**
+     * Sets the amount of pending SuperActivityToasts of an Activity that are collapsed into a
+     * summary. Zero disables digests.
+     */
+    void setDigestThreshold(final int digestThreshold, final SuperToast.OnExpandListener onExpandListener) {
+
+        if (!MainThreadQueue.isMainThread()) {
+
+            MainThreadQueue.getInstance().execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    setDigestThreshold(digestThreshold, onExpandListener);
+
+                }
+
+            });
+
+            return;
+
+        }
+
+        this.mDigestThreshold = digestThreshold > 0 ? Math.max(2, digestThreshold) : Integer.MAX_VALUE;
+        this.mOnExpandListener = onExpandListener;
 
     }
 
-    private static ManagerSuperActivityToast mManagerSuperActivityToast;
+    /**
+     * Returns the amount of SuperActivityToasts discarded by an overflow policy.
+     */
+    int getOverflowCount(SuperToast.OverflowPolicy overflowPolicy) {
 
-    private final LinkedList<SuperActivityToast> mList;
+        return mOverflowCounts[overflowPolicy.ordinal()];
 
-    /* Private method to create a new list if the manager is being initialized */
-    private ManagerSuperActivityToast() {
+    }
+
+    /**
+     * Returns the index of the first SuperActivityToast in the queue that is not showing.
+     */
+    private int getFirstPendingIndex(ActivityQueue activityQueue) {
+
+        int index = 0;
+
+        /* Showing SuperActivityToasts are always at the front so at most mMaxVisible are visited */
+        for (SuperActivityToast superActivityToast : activityQueue.mList) {
+
+            if (index == mMaxVisible || !superActivityToast.isShowing()) {
 
-        mList = new LinkedList<SuperActivityToast>();
+                break;
+
+            }
+
+            index++;
+
+        }
+
+        return index;
 
     }
 
     /**
-     * Singleton method to ensure all SuperActivityToasts are passed through the same manager.
+     * Returns the amount of SuperActivityToasts in the queue that are not showing.
      */
-    protected static synchronized ManagerSuperActivityToast getInstance() {
+    private int getPendingCount(ActivityQueue activityQueue) {
 
-        if (mManagerSuperActivityToast != null) {
+        return activityQueue.mList.size() - getFirstPendingIndex(activityQueue);
 
-            return mManagerSuperActivityToast;
+    }
 
-        } else {
+    /**
+     * Applies the overflow policy to a full queue. Returns true if the SuperActivityToast
+     * should still be added. SuperActivityToasts have no priority so REPLACE_LOWEST_PRIORITY
+     * replaces the pending SuperActivityToast that would be shown last.
+     */
+    private boolean handleOverflow(ActivityQueue activityQueue, SuperActivityToast superActivityToast) {
 
-            mManagerSuperActivityToast = new ManagerSuperActivityToast();
+        final int policyIndex = mOverflowPolicy.ordinal();
 
-            return mManagerSuperActivityToast;
+        final LinkedList<SuperActivityToast> list = activityQueue.mList;
+
+        switch (mOverflowPolicy) {
+
+            case DROP_OLDEST: {
+
+                if (getPendingCount(activityQueue) > 0) {
+
+                    final SuperActivityToast oldestSuperActivityToast =
+                            list.remove(getFirstPendingIndex(activityQueue));
+
+                    removeMessages(Messages.DISPLAY, oldestSuperActivityToast);
+                    this.unindex(oldestSuperActivityToast);
+                    mOverflowCounts[policyIndex]++;
+
+                }
+
+                return true;
+
+            }
+
+            case REPLACE_LOWEST_PRIORITY: {
+
+                if (getPendingCount(activityQueue) > 0) {
+
+                    final SuperActivityToast lastSuperActivityToast = list.removeLast();
+
+                    removeMessages(Messages.DISPLAY, lastSuperActivityToast);
+                    this.unindex(lastSuperActivityToast);
+                    mOverflowCounts[policyIndex]++;
+
+                }
+
+                return true;
+
+            }
+
+            case COLLAPSE_INTO_SUMMARY: {
+
+                collapseIntoSummary(activityQueue, superActivityToast, true);
+
+                return false;
+
+            }
+
+            default: {
+
+                mOverflowCounts[policyIndex]++;
+
+                return false;
+
+            }
 
         }
 
     }
 
     /**
-     * Add a SuperActivityToast to the list. Will show immediately if no other SuperActivityToasts
-     * are in the list.
+     * Replaces all pending SuperActivityToasts of a queue and the one being added with a single
+     * summary SuperActivityToast.
      */
-    void add(SuperActivityToast superActivityToast) {
+    private void collapseIntoSummary(ActivityQueue activityQueue, SuperActivityToast superActivityToast,
+                                     boolean isOverflow) {
+
+        /* The SuperActivityToast being added is discarded along with all pending SuperActivityToasts */
+        int discardedCount = 1;
+        int collapsedCount = 1;
+
+        final ArrayList<CharSequence> messages = new ArrayList<CharSequence>();
+
+        while (getPendingCount(activityQueue) > 0) {
+
+            final SuperActivityToast pendingSuperActivityToast = activityQueue.mList
+                    .remove(getFirstPendingIndex(activityQueue));
+
+            removeMessages(Messages.DISPLAY, pendingSuperActivityToast);
+            this.unindex(pendingSuperActivityToast);
+
+            if (pendingSuperActivityToast == activityQueue.mSummarySuperActivityToast) {
+
+                collapsedCount += activityQueue.mSummaryCount;
+
+                if (activityQueue.mSummaryMessages != null) {
+
+                    messages.addAll(activityQueue.mSummaryMessages);
+
+                }
+
+            } else {
+
+                discardedCount++;
+                collapsedCount++;
+
+                messages.add(pendingSuperActivityToast.getText());
+
+            }
 
-        mList.add(superActivityToast);
+        }
+
+        messages.add(superActivityToast.getText());
+
+        if (isOverflow) {
+
+            mOverflowCounts[SuperToast.OverflowPolicy.COLLAPSE_INTO_SUMMARY.ordinal()] += discardedCount;
+
+        }
+
+        activityQueue.mSummarySuperActivityToast = new SuperActivityToast(superActivityToast.getActivity());
+        activityQueue.mSummarySuperActivityToast.setText(String.format(SUMMARY_FORMAT, collapsedCount));
+        activityQueue.mSummaryCount = collapsedCount;
+        activityQueue.mSummaryMessages = messages;
+
+        if (mOnExpandListener != null) {
 
-        this.showNextSuperToast();
+            activityQueue.mSummarySuperActivityToast.setOnExpandListener(mOnExpandListener, messages);
+
+        }
+
+        activityQueue.mList.add(activityQueue.mSummarySuperActivityToast);
+
+        this.showNextSuperToast(activityQueue);
 
     }
 
     /**
-     * Shows the next SuperActivityToast in the list. Called by add() and when the dismiss animation
-     * of a previously showing SuperActivityToast ends.
+     * Shows the next SuperActivityToasts in a queue until the maximum amount are visible. Called by
+     * add() and when the dismiss animation of a previously showing SuperActivityToast ends.
      */
-    private void showNextSuperToast() {
+    private void showNextSuperToast(ActivityQueue activityQueue) {
 
-        final SuperActivityToast superActivityToast = mList.peek();
+        int visibleCount = 0;
 
-        if (mList.isEmpty() || superActivityToast.getActivity() == null) {
+        final Iterator<SuperActivityToast> listIterator = activityQueue.mList.iterator();
 
-            return;
+        while (listIterator.hasNext() && visibleCount < mMaxVisible) {
+
+            final SuperActivityToast superActivityToast = listIterator.next();
+
+            /* SuperActivityToasts cancelled by key are dropped once they reach the front */
+            if (superActivityToast.isCancelled()) {
+
+                listIterator.remove();
+
+                continue;
+
+            }
+
+            /* Displays queued in the same pass are added to the stack before the next layout */
+            if (!superActivityToast.isShowing() && !hasMessages(Messages.DISPLAY, superActivityToast)) {
+
+                final Message message = obtainMessage(Messages.DISPLAY);
+                message.obj = superActivityToast;
+                sendMessage(message);
+
+            }
+
+            visibleCount++;
 
         }
 
-        if (!superActivityToast.isShowing()) {
+    }
 
-            final Message message = obtainMessage(Messages.DISPLAY);
-            message.obj = superActivityToast;
-            sendMessage(message);
+    /**
+     * Adds a SuperActivityToast view to the vertical stack of its gravity. Each gravity has its
+     * own stack so a SuperActivityToast keeps the position its layout params give it. A stack is
+     * added to the content view of the Activity the first time and stays there so adding/removing
+     * a SuperActivityToast only lays out that stack.
+     */
+    private void addToStack(ViewGroup viewGroup, View toastView) {
+
+        final ViewGroup.LayoutParams layoutParams = toastView.getLayoutParams();
+
+        int gravity = Gravity.BOTTOM | Gravity.CENTER_HORIZONTAL;
+
+        if (layoutParams instanceof FrameLayout.LayoutParams
+                && ((FrameLayout.LayoutParams) layoutParams).gravity > 0) {
+
+            gravity = ((FrameLayout.LayoutParams) layoutParams).gravity;
+
+        } else if (layoutParams instanceof LinearLayout.LayoutParams
+                && ((LinearLayout.LayoutParams) layoutParams).gravity > 0) {
+
+            gravity = ((LinearLayout.LayoutParams) layoutParams).gravity;
+
+        }
+
+        /* The stack takes the vertical gravity, the horizontal gravity and margins stay on the view */
+        final LinearLayout.LayoutParams stackLayoutParams = layoutParams instanceof ViewGroup.MarginLayoutParams
+                ? new LinearLayout.LayoutParams((ViewGroup.MarginLayoutParams) layoutParams)
+                : new LinearLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT,
+                        ViewGroup.LayoutParams.WRAP_CONTENT);
+
+        stackLayoutParams.gravity = gravity & Gravity.HORIZONTAL_GRAVITY_MASK;
+
+        getStack(viewGroup, gravity).addView(toastView, stackLayoutParams);
+
+    }
+
+    /**
+     * Returns the stack of a gravity, creating it if needed.
+     */
+    @SuppressWarnings("unchecked")
+    private ViewGroup getStack(ViewGroup viewGroup, int gravity) {
+
+        SparseArray<LinearLayout> stacks = (SparseArray<LinearLayout>) viewGroup.getTag(R.id.supertoasts_stack);
+
+        if (stacks == null) {
+
+            stacks = new SparseArray<LinearLayout>();
+
+            viewGroup.setTag(R.id.supertoasts_stack, stacks);
+
+        }
+
+        LinearLayout stack = stacks.get(gravity);
+
+        if (stack == null) {
+
+            stack = new LinearLayout(viewGroup.getContext());
+            stack.setOrientation(LinearLayout.VERTICAL);
+
+            if (viewGroup instanceof FrameLayout) {
+
+                viewGroup.addView(stack, new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                        ViewGroup.LayoutParams.WRAP_CONTENT, gravity & Gravity.VERTICAL_GRAVITY_MASK));
+
+            } else {
+
+                viewGroup.addView(stack, new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                        ViewGroup.LayoutParams.WRAP_CONTENT));
+
+            }
+
+            stacks.put(gravity, stack);
+
+        }
+
+        return stack;
+
+    }
+
+    /* A showing SuperActivityToast is either in the content view of its Activity or in the stack */
+    private static void removeFromParent(View toastView) {
+
+        if (toastView != null && toastView.getParent() instanceof ViewGroup) {
+
+            ((ViewGroup) toastView.getParent()).removeView(toastView);
 
         }
 
@@ -114,20 +946,29 @@ class ManagerSuperActivityToast extends Handler {
     @Override
     public void handleMessage(Message message) {
 
-        final SuperActivityToast superActivityToast = (SuperActivityToast)
-                message.obj;
-
         switch (message.what) {
 
             case Messages.DISPLAY:
 
-                displaySuperToast(superActivityToast);
+                displaySuperToast((SuperActivityToast) message.obj);
 
                 break;
 
             case Messages.REMOVE:
 
-                removeSuperToast(superActivityToast);
+                removeSuperToast((SuperActivityToast) message.obj);
+
+                break;
+
+            case Messages.RETRY:
+
+                retryDeferredSuperToasts((ActivityQueue) message.obj);
+
+                break;
+
+            case Messages.DIGEST:
+
+                showDigestSuperToast((ActivityQueue) message.obj);
 
                 break;
 
@@ -148,8 +989,8 @@ class ManagerSuperActivityToast extends Handler {
      */
     private void displaySuperToast(SuperActivityToast superActivityToast) {
 
-        /* If this SuperActivityToast is somehow already showing do nothing */
-        if(superActivityToast.isShowing()) {
+        /* If this SuperActivityToast is somehow already showing or was cancelled do nothing */
+        if(superActivityToast.isShowing() || superActivityToast.isCancelled()) {
 
             return;
 
@@ -157,17 +998,25 @@ class ManagerSuperActivityToast extends Handler {
 
         final ViewGroup viewGroup = superActivityToast.getViewGroup();
 
-        final View toastView = superActivityToast.getView();
-
         if(viewGroup != null) {
 
+            final View toastView = superActivityToast.getView();
+
             try {
 
-                viewGroup.addView(toastView);
+                if (mMaxVisible > 1) {
+
+                    this.addToStack(viewGroup, toastView);
+
+                } else {
+
+                    viewGroup.addView(toastView);
+
+                }
 
                 if(!superActivityToast.getShowImmediate()) {
 
-                    toastView.startAnimation(getShowAnimation(superActivityToast));
+                    ToastAnimations.animateShow(toastView, superActivityToast.getAnimations(), null);
 
                 }
 
@@ -185,7 +1034,7 @@ class ManagerSuperActivityToast extends Handler {
             Message message = obtainMessage(Messages.REMOVE);
             message.obj = superActivityToast;
             sendMessageDelayed(message, superActivityToast.getDuration() +
-                    getShowAnimation(superActivityToast).getDuration());
+                    ToastAnimations.getShowDuration(superActivityToast.getAnimations()));
 
         }
 
@@ -196,10 +1045,38 @@ class ManagerSuperActivityToast extends Handler {
      */
     void removeSuperToast(final SuperActivityToast superActivityToast) {
 
+        this.unindex(superActivityToast);
+
+        final ActivityQueue activityQueue = getQueue(superActivityToast.getActivity(), false);
+
         /* If SuperActivityToast has been dismissed before it shows, do not attempt to show it */
         if(!superActivityToast.isShowing()) {
 
-            mList.remove(superActivityToast);
+            removeMessages(Messages.DISPLAY, superActivityToast);
+
+            final View toastView = superActivityToast.getViewIfInflated();
+
+            final boolean isWindowGone = toastView != null && toastView.getParent() != null
+                    && toastView.getWindowToken() == null;
+
+            removeFromParent(toastView);
+
+            superActivityToast.recycleView();
+
+            if (isWindowGone) {
+
+                /* The view was displayed in an Activity whose window is gone, drop the whole queue */
+                this.cancelAllSuperActivityToastsForActivity(superActivityToast.getActivity());
+
+            } else if (activityQueue != null) {
+
+                activityQueue.mList.remove(superActivityToast);
+                activityQueue.mDeferredList.remove(superActivityToast);
+
+                this.showNextSuperToast(activityQueue);
+                this.removeQueueIfEmpty(superActivityToast.getActivity(), activityQueue);
+
+            }
 
             return;
 
@@ -214,19 +1091,16 @@ class ManagerSuperActivityToast extends Handler {
 
         if (viewGroup != null) {
 
-            Animation animation = getDismissAnimation(superActivityToast);
+            superActivityToast.setDismissing(true);
 
-            animation.setAnimationListener(new Animation.AnimationListener() {
+            ToastAnimations.animateDismiss(toastView, superActivityToast.getAnimations(), new Runnable() {
 
                 @Override
-                public void onAnimationStart(Animation animation) {
+                public void run() {
 
-                    /* Do nothing */
+                    removeFromParent(toastView);
 
-                }
-
-                @Override
-                public void onAnimationEnd(Animation animation) {
+                    superActivityToast.setDismissing(false);
 
                     if(superActivityToast.getOnDismissWrapper() != null){
 
@@ -234,220 +1108,174 @@ class ManagerSuperActivityToast extends Handler {
 
                     }
 
-                    /* Show the SuperActivityToast next in the list if any exist */
-                    ManagerSuperActivityToast.this.showNextSuperToast();
+                    superActivityToast.recycleView();
 
-                }
+                    /* Show the SuperActivityToast next in the queue if any exist */
+                    final ActivityQueue currentActivityQueue = getQueue(superActivityToast.getActivity(), false);
 
-                @Override
-                public void onAnimationRepeat(Animation animation) {
+                    if (currentActivityQueue != null) {
+
+                        ManagerSuperActivityToast.this.showNextSuperToast(currentActivityQueue);
 
-                    /* Do nothing */
+                    }
 
                 }
+
             });
 
-            toastView.startAnimation(animation);
+            if (activityQueue != null) {
 
-            viewGroup.removeView(toastView);
+                activityQueue.mList.remove(superActivityToast);
 
-            mList.poll();
+                this.removeQueueIfEmpty(superActivityToast.getActivity(), activityQueue);
+
+            }
 
         }
 
     }
 
     /**
-     * Removes all SuperActivityToasts and clears the list
+     * Removes all SuperActivityToasts and clears every queue
      */
     void cancelAllSuperActivityToasts() {
 
         removeMessages(Messages.DISPLAY);
         removeMessages(Messages.REMOVE);
+        removeMessages(Messages.RETRY);
+        removeMessages(Messages.DIGEST);
 
-        for (SuperActivityToast superActivityToast : mList) {
-
-            if (superActivityToast.isShowing()) {
-
-                superActivityToast.getViewGroup().removeView(
-                        superActivityToast.getView());
-
-                superActivityToast.getViewGroup().invalidate();
-
-            }
-
-        }
-
-        mList.clear();
-
-    }
-
-    /**
-     * Removes all SuperActivityToasts and clears the list for a specific activity
-     */
-    void cancelAllSuperActivityToastsForActivity(Activity activity) {
-
-        Iterator<SuperActivityToast> superActivityToastIterator = mList
-                .iterator();
-
-        while (superActivityToastIterator.hasNext()) {
-
-            SuperActivityToast superActivityToast = superActivityToastIterator
-                    .next();
+        for (ActivityQueue activityQueue : mQueues.values()) {
 
-            if ((superActivityToast.getActivity()) != null
-                    && superActivityToast.getActivity().equals(activity)) {
+            for (SuperActivityToast superActivityToast : activityQueue.mList) {
 
                 if (superActivityToast.isShowing()) {
 
-                    superActivityToast.getViewGroup().removeView(
-                            superActivityToast.getView());
+                    removeFromParent(superActivityToast.getView());
 
-                }
+                    superActivityToast.getViewGroup().invalidate();
 
-                removeMessages(Messages.DISPLAY, superActivityToast);
-                removeMessages(Messages.REMOVE, superActivityToast);
+                    superActivityToast.recycleView();
 
-                superActivityToastIterator.remove();
+                }
 
             }
 
         }
 
-    }
+        mQueues.clear();
 
-    /**
-     * Used in SuperActivityToast saveState().
-     */
-    LinkedList<SuperActivityToast> getList(){
+        synchronized (mKeyIndex) {
+
+            mKeyIndex.clear();
 
-        return mList;
+        }
 
     }
 
     /**
-     * Returns an animation based on the {@link com.github.johnpersano.supertoasts.SuperToast.Animations} enums
+     * Removes all SuperActivityToasts and clears the queue for a specific activity
      */
-    private Animation getShowAnimation(SuperActivityToast superActivityToast) {
-
-        if (superActivityToast.getAnimations() == SuperToast.Animations.FLYIN) {
-
-            TranslateAnimation translateAnimation = new TranslateAnimation(
-                    Animation.RELATIVE_TO_SELF, 0.75f, Animation.RELATIVE_TO_SELF, 0.0f,
-                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, 0.0f);
-
-            AlphaAnimation alphaAnimation = new AlphaAnimation(0f, 1f);
+    void cancelAllSuperActivityToastsForActivity(Activity activity) {
 
-            AnimationSet animationSet = new AnimationSet(true);
-            animationSet.addAnimation(translateAnimation);
-            animationSet.addAnimation(alphaAnimation);
-            animationSet.setInterpolator(new DecelerateInterpolator());
-            animationSet.setDuration(250);
+        final ActivityQueue activityQueue = getQueue(activity, false);
 
-            return animationSet;
+        if (activityQueue == null) {
 
-        } else if (superActivityToast.getAnimations() == SuperToast.Animations.SCALE) {
+            return;
 
-            ScaleAnimation scaleAnimation = new ScaleAnimation(0.9f, 1.0f, 0.9f, 1.0f,
-                    Animation.RELATIVE_TO_SELF, 0.5f, Animation.RELATIVE_TO_SELF, 0.5f);
+        }
 
-            AlphaAnimation alphaAnimation = new AlphaAnimation(0f, 1f);
+        mQueues.remove(activity);
 
-            AnimationSet animationSet = new AnimationSet(true);
-            animationSet.addAnimation(scaleAnimation);
-            animationSet.addAnimation(alphaAnimation);
-            animationSet.setInterpolator(new DecelerateInterpolator());
-            animationSet.setDuration(250);
+        for (SuperActivityToast superActivityToast : activityQueue.mList) {
 
-            return animationSet;
+            if (superActivityToast.isShowing()) {
 
-        } else if (superActivityToast.getAnimations() == SuperToast.Animations.POPUP) {
+                removeFromParent(superActivityToast.getView());
 
-            TranslateAnimation translateAnimation = new TranslateAnimation(
-                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, 0.0f,
-                    Animation.RELATIVE_TO_SELF, 0.1f, Animation.RELATIVE_TO_SELF, 0.0f);
+                superActivityToast.recycleView();
 
-            AlphaAnimation alphaAnimation = new AlphaAnimation(0f, 1f);
+            }
 
-            AnimationSet animationSet = new AnimationSet(true);
-            animationSet.addAnimation(translateAnimation);
-            animationSet.addAnimation(alphaAnimation);
-            animationSet.setInterpolator(new DecelerateInterpolator());
-            animationSet.setDuration(250);
+            removeMessages(Messages.DISPLAY, superActivityToast);
+            removeMessages(Messages.REMOVE, superActivityToast);
 
-            return animationSet;
+            this.unindex(superActivityToast);
 
-        } else {
+        }
 
-            Animation animation= new AlphaAnimation(0f, 1f);
-            animation.setDuration(500);
-            animation.setInterpolator(new DecelerateInterpolator());
+        for (SuperActivityToast superActivityToast : activityQueue.mDeferredList) {
 
-            return animation;
+            this.unindex(superActivityToast);
 
         }
 
+        removeMessages(Messages.RETRY, activityQueue);
+        removeMessages(Messages.DIGEST, activityQueue);
+
     }
 
     /**
-     *  Returns an animation based on the {@link com.github.johnpersano.supertoasts.SuperToast.Animations} enums
+     * Used in SuperActivityToast saveState().
      */
-    private Animation getDismissAnimation(SuperActivityToast superActivityToast) {
+    LinkedList<SuperActivityToast> getList(){
+
+        final LinkedList<SuperActivityToast> list = new LinkedList<SuperActivityToast>();
+
+        for (ActivityQueue activityQueue : mQueues.values()) {
 
-        if (superActivityToast.getAnimations() == SuperToast.Animations.FLYIN) {
+            for (SuperActivityToast superActivityToast : activityQueue.mList) {
 
-            TranslateAnimation translateAnimation = new TranslateAnimation(
-                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, .75f,
-                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, 0.0f);
+                if (!superActivityToast.isCancelled()) {
 
-            AlphaAnimation alphaAnimation = new AlphaAnimation(1f, 0f);
+                    list.add(superActivityToast);
 
-            AnimationSet animationSet = new AnimationSet(true);
-            animationSet.addAnimation(translateAnimation);
-            animationSet.addAnimation(alphaAnimation);
-            animationSet.setInterpolator(new AccelerateInterpolator());
-            animationSet.setDuration(250);
+                }
 
-            return animationSet;
+            }
 
-        } else if (superActivityToast.getAnimations() == SuperToast.Animations.SCALE) {
+        }
 
-            ScaleAnimation scaleAnimation = new ScaleAnimation(1.0f, 0.9f, 1.0f, 0.9f,
-                    Animation.RELATIVE_TO_SELF, 0.5f, Animation.RELATIVE_TO_SELF, 0.5f);
+        return list;
 
-            AlphaAnimation alphaAnimation = new AlphaAnimation(1f, 0f);
+    }
 
-            AnimationSet animationSet = new AnimationSet(true);
-            animationSet.addAnimation(scaleAnimation);
-            animationSet.addAnimation(alphaAnimation);
-            animationSet.setInterpolator(new DecelerateInterpolator());
-            animationSet.setDuration(250);
+    /**
+     * SuperActivityToasts of a single Activity and the state of their rate limit and overflow policies.
+     * The queue is the value of a weakly keyed map but still reaches its Activity through the view of
+     * a showing SuperActivityToast. Pending SuperActivityToasts therefore never keep a view and a queue
+     * is dropped once one of its views is found detached from the window. Below API 14 an indeterminate
+     * SuperActivityToast is never removed on its own, so
+     * {@link com.github.johnpersano.supertoasts.SuperActivityToast#clearSuperActivityToastsForActivity(android.app.Activity)}
+     * must still be called from onDestroy().
+     */
+    private static class ActivityQueue {
 
-            return animationSet;
+        final LinkedList<SuperActivityToast> mList;
 
-        } else if (superActivityToast.getAnimations() == SuperToast.Animations.POPUP) {
+        /* The pending summary SuperActivityToast created by the COLLAPSE_INTO_SUMMARY overflow policy */
+        SuperActivityToast mSummarySuperActivityToast;
+        int mSummaryCount;
+        ArrayList<CharSequence> mSummaryMessages;
 
-            TranslateAnimation translateAnimation = new TranslateAnimation(
-                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, 0.0f,
-                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, 0.1f);
+        /* SuperActivityToasts held back by the DEFER rate limit policy */
+        final LinkedList<SuperActivityToast> mDeferredList;
 
-            AlphaAnimation alphaAnimation = new AlphaAnimation(1f, 0f);
+        /* SuperActivityToasts folded into the next digest SuperActivityToast by the DIGEST rate limit policy */
+        SuperActivityToast mDigestSourceSuperActivityToast;
+        int mDigestCount;
 
-            AnimationSet animationSet = new AnimationSet(true);
-            animationSet.addAnimation(translateAnimation);
-            animationSet.addAnimation(alphaAnimation);
-            animationSet.setInterpolator(new DecelerateInterpolator());
-            animationSet.setDuration(250);
+        ActivityQueue() {
 
-            return animationSet;
+            this.mList = new LinkedList<SuperActivityToast>();
+            this.mDeferredList = new LinkedList<SuperActivityToast>();
 
-        } else {
+        }
 
-            AlphaAnimation alphaAnimation = new AlphaAnimation(1f, 0f);
-            alphaAnimation.setDuration(500);
-            alphaAnimation.setInterpolator(new AccelerateInterpolator());
+        boolean isEmpty() {
 
-            return alphaAnimation;
+            return mList.isEmpty() && mDeferredList.isEmpty() && mDigestCount == 0;
 
         }
 
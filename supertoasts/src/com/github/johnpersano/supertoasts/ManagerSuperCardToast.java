@@ -17,6 +17,17 @@
 
 package com.github.johnpersano.supertoasts;
 
+import android.app.Activity;
+import android.os.Build;
+import android.view.View;
+import android.view.ViewGroup;
+import com.github.johnpersano.supertoasts.util.CollapseAnimator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 
 /**
@@ -27,13 +38,35 @@ class ManagerSuperCardToast {
     @SuppressWarnings("UnusedDeclaration")
     private static final String TAG = "Manager SuperCardToast";
 
+    /* Text of the summary SuperCardToast used by the COLLAPSE_INTO_SUMMARY overflow policy */
+    private static final String SUMMARY_FORMAT = "%d new messages";
+
     private static ManagerSuperCardToast mManagerSuperCardToast;
 
-    private final LinkedList<SuperCardToast> mList;
+    /* Insertion ordered so a SuperCardToast is removed in constant time */
+    private final LinkedHashSet<SuperCardToast> mList;
+
+    /* Showing SuperCardToasts by key, synchronized since find() and cancel() can be called from any thread */
+    private final HashMap<String, SuperCardToast> mKeyIndex;
+
+    /* Amount of SuperCardToasts discarded by each overflow policy */
+    private final int[] mOverflowCounts;
+
+    /* Maximum amount of SuperCardToasts shown at once and the policy used when it is reached */
+    private int mQueueCapacity = Integer.MAX_VALUE;
+    private SuperToast.OverflowPolicy mOverflowPolicy = SuperToast.OverflowPolicy.DROP_NEWEST;
+
+    /* The summary SuperCardToast created by the COLLAPSE_INTO_SUMMARY overflow policy */
+    private SuperCardToast mSummarySuperCardToast;
+    private int mSummaryCount;
 
     private ManagerSuperCardToast() {
 
-        mList = new LinkedList<SuperCardToast>();
+        mList = new LinkedHashSet<SuperCardToast>();
+
+        mKeyIndex = new HashMap<String, SuperCardToast>();
+
+        mOverflowCounts = new int[SuperToast.OverflowPolicy.values().length];
 
     }
 
@@ -57,12 +90,213 @@ class ManagerSuperCardToast {
     }
 
     /**
-     * Add a SuperCardToast to the list.
+     * Add a SuperCardToast to the list. Returns false if the SuperCardToast was
+     * discarded by the overflow policy and should not be shown.
      */
-    void add(SuperCardToast superCardToast) {
+    boolean add(SuperCardToast superCardToast) {
+
+        if (mList.size() >= mQueueCapacity && !handleOverflow(superCardToast)) {
+
+            return false;
+
+        }
 
         mList.add(superCardToast);
 
+        if (superCardToast.getKey() != null) {
+
+            synchronized (mKeyIndex) {
+
+                mKeyIndex.put(superCardToast.getKey(), superCardToast);
+
+            }
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Dismisses the SuperCardToast with the key. Returns true if one was found.
+     */
+    boolean cancel(String key) {
+
+        final SuperCardToast superCardToast = find(key);
+
+        if (superCardToast == null) {
+
+            return false;
+
+        }
+
+        /* Dismissing the SuperCardToast will remove it from the list and the index on the main thread */
+        superCardToast.dismiss();
+
+        return true;
+
+    }
+
+    /**
+     * Returns the showing SuperCardToast with the key or null. Can be called from any thread.
+     */
+    SuperCardToast find(String key) {
+
+        synchronized (mKeyIndex) {
+
+            return mKeyIndex.get(key);
+
+        }
+
+    }
+
+    /**
+     * Removes a SuperCardToast from the index if the index still points to it.
+     */
+    private void unindex(SuperCardToast superCardToast) {
+
+        final String key = superCardToast.getKey();
+
+        if (key == null) {
+
+            return;
+
+        }
+
+        synchronized (mKeyIndex) {
+
+            if (mKeyIndex.get(key) == superCardToast) {
+
+                mKeyIndex.remove(key);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Sets the maximum amount of SuperCardToasts shown at once and the policy used when it is reached.
+     */
+    void setQueueCapacity(final int queueCapacity, final SuperToast.OverflowPolicy overflowPolicy) {
+
+        if (!MainThreadQueue.isMainThread()) {
+
+            /* Applied on the main thread in order with the toasts shown from the same thread */
+            MainThreadQueue.getInstance().execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    setQueueCapacity(queueCapacity, overflowPolicy);
+
+                }
+
+            });
+
+            return;
+
+        }
+
+        this.mQueueCapacity = Math.max(1, queueCapacity);
+        this.mOverflowPolicy = overflowPolicy;
+
+    }
+
+    /**
+     * Returns the amount of SuperCardToasts discarded by an overflow policy.
+     */
+    int getOverflowCount(SuperToast.OverflowPolicy overflowPolicy) {
+
+        return mOverflowCounts[overflowPolicy.ordinal()];
+
+    }
+
+    /**
+     * Applies the overflow policy to a full list. Returns true if the SuperCardToast
+     * should still be added. SuperCardToasts have no priority so REPLACE_LOWEST_PRIORITY
+     * replaces the oldest SuperCardToast, the same as DROP_OLDEST.
+     */
+    private boolean handleOverflow(SuperCardToast superCardToast) {
+
+        final int policyIndex = mOverflowPolicy.ordinal();
+
+        switch (mOverflowPolicy) {
+
+            case DROP_OLDEST:
+            case REPLACE_LOWEST_PRIORITY: {
+
+                if (!mList.isEmpty()) {
+
+                    /* Dismissing the SuperCardToast will remove it from the list */
+                    mList.iterator().next().dismissImmediately();
+                    mOverflowCounts[policyIndex]++;
+
+                }
+
+                return true;
+
+            }
+
+            case COLLAPSE_INTO_SUMMARY: {
+
+                collapseIntoSummary(superCardToast);
+
+                return false;
+
+            }
+
+            default: {
+
+                mOverflowCounts[policyIndex]++;
+
+                return false;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Replaces all SuperCardToasts and the one being added with a single summary
+     * SuperCardToast. If a summary SuperCardToast is showing its count is updated.
+     */
+    private void collapseIntoSummary(SuperCardToast superCardToast) {
+
+        /* The SuperCardToast being added is discarded along with all showing SuperCardToasts */
+        int discardedCount = 1;
+
+        for (SuperCardToast listedSuperCardToast : new ArrayList<SuperCardToast>(mList)) {
+
+            if (listedSuperCardToast != mSummarySuperCardToast) {
+
+                listedSuperCardToast.dismissImmediately();
+
+                discardedCount++;
+
+            }
+
+        }
+
+        mOverflowCounts[SuperToast.OverflowPolicy.COLLAPSE_INTO_SUMMARY.ordinal()] += discardedCount;
+
+        if (mSummarySuperCardToast != null && mList.contains(mSummarySuperCardToast)) {
+
+            mSummaryCount += discardedCount;
+
+            mSummarySuperCardToast.setText(String.format(SUMMARY_FORMAT, mSummaryCount));
+
+        } else {
+
+            mSummaryCount = discardedCount;
+
+            mSummarySuperCardToast = new SuperCardToast(superCardToast.getActivity());
+            mSummarySuperCardToast.setText(String.format(SUMMARY_FORMAT, mSummaryCount));
+            mSummarySuperCardToast.show();
+
+        }
+
     }
 
     /**
@@ -72,6 +306,101 @@ class ManagerSuperCardToast {
 
         mList.remove(superCardToast);
 
+        this.unindex(superCardToast);
+
+    }
+
+    /**
+     * Dismisses all SuperCardToasts the predicate applies to with a single collapse animation.
+     * The views are removed together when it ends so each container is laid out once.
+     */
+    void dismissAll(SuperCardToast.Predicate predicate) {
+
+        final ArrayList<SuperCardToast> superCardToasts = new ArrayList<SuperCardToast>();
+        final ArrayList<View> views = new ArrayList<View>();
+
+        final Iterator<SuperCardToast> superCardToastIterator = mList.iterator();
+
+        while (superCardToastIterator.hasNext()) {
+
+            final SuperCardToast superCardToast = superCardToastIterator.next();
+
+            if (predicate.apply(superCardToast)) {
+
+                superCardToastIterator.remove();
+
+                this.unindex(superCardToast);
+
+                superCardToast.cancelHideRunnables();
+
+                superCardToasts.add(superCardToast);
+
+                /* SuperCardToasts that are off screen have nothing to animate */
+                if (superCardToast.isShowing()) {
+
+                    views.add(superCardToast.getView());
+
+                }
+
+                if (superCardToast == mSummarySuperCardToast) {
+
+                    mSummarySuperCardToast = null;
+
+                }
+
+            }
+
+        }
+
+        if (superCardToasts.isEmpty()) {
+
+            return;
+
+        }
+
+        final Runnable removeRunnable = new Runnable() {
+
+            @Override
+            public void run() {
+
+                /* Each container drops all of its SuperCardToasts at once and rebinds a single time */
+                final HashSet<ViewGroup> containers = new HashSet<ViewGroup>();
+
+                for (SuperCardToast superCardToast : superCardToasts) {
+
+                    final ViewGroup viewGroup = superCardToast.getViewGroup();
+
+                    if (viewGroup instanceof SuperCardToastContainer && containers.add(viewGroup)) {
+
+                        ((SuperCardToastContainer) viewGroup).removeAll(superCardToasts);
+
+                    }
+
+                }
+
+                for (SuperCardToast superCardToast : superCardToasts) {
+
+                    superCardToast.removeImmediately();
+
+                }
+
+            }
+
+        };
+
+        if (views.isEmpty() || Build.VERSION.SDK_INT < Build.VERSION_CODES.HONEYCOMB) {
+
+            removeRunnable.run();
+
+        } else {
+
+            new CollapseAnimator(views, views.get(0).getResources()
+                    .getInteger(android.R.integer.config_shortAnimTime))
+                    .setFadeOut(true)
+                    .start(removeRunnable);
+
+        }
+
     }
 
     /**
@@ -81,18 +410,61 @@ class ManagerSuperCardToast {
 
         for (SuperCardToast superCardToast : mList) {
 
-            if (superCardToast.isShowing()) {
+            superCardToast.cancelHideRunnables();
 
-                superCardToast.getViewGroup().removeView(
-                        superCardToast.getView());
+            superCardToast.removeView();
 
-                superCardToast.getViewGroup().invalidate();
+            superCardToast.recycleView();
+
+        }
+
+        mList.clear();
+
+        synchronized (mKeyIndex) {
+
+            mKeyIndex.clear();
+
+        }
+
+        mSummarySuperCardToast = null;
+
+    }
+
+    /**
+     * Removes all SuperCardToasts of a specific activity. SuperCardToasts whose
+     * activity is already gone are removed as well.
+     */
+    void cancelAllSuperCardToastsForActivity(Activity activity) {
+
+        final Iterator<SuperCardToast> superCardToastIterator = mList.iterator();
+
+        while (superCardToastIterator.hasNext()) {
+
+            final SuperCardToast superCardToast = superCardToastIterator.next();
+
+            final Activity superCardToastActivity = superCardToast.getActivity();
+
+            if (superCardToastActivity == null || superCardToastActivity == activity) {
+
+                superCardToast.cancelHideRunnables();
+
+                superCardToast.removeView();
+
+                superCardToast.recycleView();
+
+                superCardToastIterator.remove();
+
+                this.unindex(superCardToast);
 
             }
 
         }
 
-        mList.clear();
+        if (mSummarySuperCardToast != null && !mList.contains(mSummarySuperCardToast)) {
+
+            mSummarySuperCardToast = null;
+
+        }
 
     }
 
@@ -101,7 +473,7 @@ class ManagerSuperCardToast {
      */
     LinkedList<SuperCardToast> getList() {
 
-        return mList;
+        return new LinkedList<SuperCardToast>(mList);
 
     }
 
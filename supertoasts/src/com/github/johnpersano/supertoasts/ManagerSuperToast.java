@@ -17,92 +17,889 @@
 
 package com.github.johnpersano.supertoasts;
 
+import android.annotation.SuppressLint;
+import android.os.Build;
 import android.os.Handler;
+import android.os.Looper;
 import android.os.Message;
+import android.os.SystemClock;
 import android.view.View;
 import android.view.WindowManager;
+import android.widget.FrameLayout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.PriorityBlockingQueue;
+
+/* Manages the life of a SuperToast. Initially copied from the Crouton library */
+public class ManagerSuperToast extends Handler {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final String TAG = "ManagerSuperToast";
+
+    /* Initial capacity of the priority queue, it will grow as needed */
+    private static final int INITIAL_CAPACITY = 11;
+
+    /* Window attach/detach callbacks are used to schedule SuperToasts when they are available */
+    private static final boolean USE_WINDOW_CALLBACKS = Build.VERSION.SDK_INT
+            >= Build.VERSION_CODES.HONEYCOMB_MR1;
+
+    /* Padding used to compensate for show/hide animations when window callbacks are not available */
+    private static final int ANIMATION_PADDING = 500;
+
+    /* Text of the summary SuperToast used by the COLLAPSE_INTO_SUMMARY overflow policy */
+    private static final String SUMMARY_FORMAT = "%d new messages";
+
+    /* Potential messages for the handler to send **/
+    private static final class Messages {
+
+        /* Hexadecimal numbers that represent acronyms for the operation **/
+        private static final int DISPLAY_SUPERTOAST = 0x445354;
+        private static final int ADD_SUPERTOAST = 0x415354;
+        private static final int REMOVE_SUPERTOAST = 0x525354;
+        private static final int RETRY_SUPERTOAST = 0x525254;
+        private static final int DIGEST_SUPERTOAST = 0x444754;
+
+    }
+
+    private static ManagerSuperToast mManagerSuperToast;
+
+    private final Queue<SuperToast> mQueue;
+
+    private final PriorityComparator mPriorityComparator;
+
+    /* Amount of SuperToasts discarded by each overflow policy */
+    private final int[] mOverflowCounts;
+
+    /* Amount of SuperToasts discarded because they waited longer than their time to live */
+    private int mExpiredCount;
+
+    /* Amount of SuperToasts in the queue that were cancelled by key and are skipped when they are polled */
+    private int mCancelledCount;
+
+    /* Maximum amount of pending SuperToasts and the policy used when it is reached */
+    private int mQueueCapacity = Integer.MAX_VALUE;
+    private SuperToast.OverflowPolicy mOverflowPolicy = SuperToast.OverflowPolicy.DROP_NEWEST;
+
+    /* The pending summary SuperToast created by the COLLAPSE_INTO_SUMMARY overflow policy */
+    private SuperToast mSummarySuperToast;
+    private int mSummaryCount;
+    private ArrayList<CharSequence> mSummaryMessages;
+
+    /* Amount of pending SuperToasts that are collapsed into a summary SuperToast by digest mode */
+    private int mDigestThreshold = Integer.MAX_VALUE;
+    private SuperToast.OnExpandListener mOnExpandListener;
+
+    private final RateLimiter mRateLimiter;
+
+    /* SuperToasts held back by the DEFER rate limit policy */
+    private final LinkedList<SuperToast> mDeferredQueue;
+
+    /* Amount of SuperToasts folded into the next digest SuperToast by the DIGEST rate limit policy */
+    private SuperToast mDigestSourceSuperToast;
+    private int mDigestCount;
+
+    /* The SuperToast that is currently showing or about to be shown */
+    private SuperToast mCurrentSuperToast;
+
+    /* Incremented for every SuperToast added to keep FIFO order within a priority level */
+    private long mQueueSequence;
+
+    /* Schedules the removal and the next SuperToast from window callbacks */
+    private WindowStateListener mWindowStateListener;
+
+    /* If true all SuperToasts are shown in a single window that stays attached while the queue is not empty */
+    private boolean mUsePersistentWindow;
+    private FrameLayout mPersistentWindow;
+    private WindowManager mPersistentWindowManager;
+    private WindowManager.LayoutParams mPersistentWindowParams;
+    private SuperToast mPersistentWindowSuperToast;
+
+    /* If true identical SuperToasts are merged into the showing/pending one */
+    private boolean mCoalesceDuplicates;
+
+    /* Showing/pending SuperToasts by key, synchronized since find() and cancel() can be called from any thread */
+    private final HashMap<String, SuperToast> mKeyIndex;
+
+    /* Private method to create a new list if the manager is being initialized */
+    private ManagerSuperToast() {
+
+        /* Always handle messages on the main thread no matter which thread creates the manager */
+        super(Looper.getMainLooper());
+
+        mPriorityComparator = new PriorityComparator();
+
+        mQueue = new PriorityBlockingQueue<SuperToast>(INITIAL_CAPACITY,
+                mPriorityComparator);
+
+        mOverflowCounts = new int[SuperToast.OverflowPolicy.values().length];
+
+        mRateLimiter = new RateLimiter();
+
+        mDeferredQueue = new LinkedList<SuperToast>();
+
+        mKeyIndex = new HashMap<String, SuperToast>();
+
+    }
+
+    /* Singleton method to ensure all SuperToasts are passed through the same manager */
+    protected static synchronized ManagerSuperToast getInstance() {
+
+        if (mManagerSuperToast != null) {
+
+            return mManagerSuperToast;
+
+        } else {
+
+            mManagerSuperToast = new ManagerSuperToast();
+
+            return mManagerSuperToast;
+
+        }
+
+    }
+
+    /* Add SuperToast to queue and try to show it */
+    protected void add(SuperToast superToast) {
+
+        if (superToast.isCancelled()) {
+
+            /* The SuperToast was cancelled by key and is shown again, drop its old entry */
+            if (superToast.isQueued()) {
+
+                mQueue.remove(superToast);
+                this.onRemovedFromQueue(superToast);
+
+            } else {
+
+                mDeferredQueue.remove(superToast);
+                superToast.setCancelled(false);
+
+            }
+
+        }
+
+        if (mCoalesceDuplicates) {
+
+            final SuperToast duplicateSuperToast = findDuplicate(superToast);
+
+            if (duplicateSuperToast != null) {
+
+                coalesce(duplicateSuperToast);
+
+                return;
+
+            }
+
+        }
+
+        if (!mRateLimiter.tryAcquire(superToast.getTag())) {
+
+            rateLimit(superToast);
+
+            return;
+
+        }
+
+        this.enqueue(superToast);
+
+    }
+
+    /* Add SuperToast to queue if there is room and try to show it */
+    private void enqueue(SuperToast superToast) {
+
+        if (getPendingCount() >= mDigestThreshold) {
+
+            /* The backlog and the SuperToast being added are replaced by a single summary */
+            collapseIntoSummary(superToast, false);
+
+            return;
+
+        }
+
+        if (getPendingCount() >= mQueueCapacity && !handleOverflow(superToast)) {
+
+            /* The SuperToast was discarded by the overflow policy */
+
+            return;
+
+        }
+
+        /* Add SuperToast to queue and try to show it */
+        this.addToQueue(superToast);
+        this.index(superToast);
+        this.showNextSuperToast();
+
+    }
+
+    /* Adds a SuperToast to the priority queue */
+    private void addToQueue(SuperToast superToast) {
+
+        superToast.setQueueSequence(mQueueSequence++);
+        superToast.setQueued(true);
+        mQueue.add(superToast);
+
+    }
+
+    /* Must be called for every SuperToast taken out of the priority queue */
+    private void onRemovedFromQueue(SuperToast superToast) {
+
+        superToast.setQueued(false);
+
+        if (superToast.isCancelled()) {
+
+            superToast.setCancelled(false);
+            mCancelledCount--;
+
+        }
+
+    }
+
+    /* Returns the amount of SuperToasts in the queue that were not cancelled by key */
+    private int getPendingCount() {
+
+        return mQueue.size() - mCancelledCount;
+
+    }
+
+    /* Cancels the showing/pending SuperToast with the key, returns true if one was found */
+    boolean cancel(String key) {
+
+        final SuperToast superToast;
+
+        synchronized (mKeyIndex) {
+
+            superToast = mKeyIndex.remove(key);
+
+        }
+
+        if (superToast == null) {
+
+            return false;
+
+        }
+
+        if (!MainThreadQueue.isMainThread()) {
+
+            /* The index is updated right away, the queue and the window are only touched on the main thread */
+            MainThreadQueue.getInstance().execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    cancel(superToast);
+
+                }
+
+            });
+
+        } else {
+
+            this.cancel(superToast);
+
+        }
+
+        return true;
+
+    }
+
+    /* Removes a SuperToast that was cancelled by key from the screen or the queue */
+    private void cancel(SuperToast superToast) {
+
+        if (superToast == mCurrentSuperToast) {
+
+            this.removeSuperToast(superToast);
+
+        } else if (!superToast.isCancelled()) {
+
+            /* Removing from the queues is linear so the SuperToast is skipped when it is polled */
+            superToast.setCancelled(true);
+
+            if (superToast.isQueued()) {
+
+                /* Stops counting towards the capacity right away */
+                mCancelledCount++;
+
+            }
+
+        }
+
+    }
+
+    /* Returns the showing/pending SuperToast with the key or null, can be called from any thread */
+    SuperToast find(String key) {
+
+        synchronized (mKeyIndex) {
+
+            return mKeyIndex.get(key);
+
+        }
+
+    }
+
+    /* Adds a SuperToast with a key to the index, a newer SuperToast replaces an older one */
+    private void index(SuperToast superToast) {
+
+        if (superToast.getKey() != null) {
+
+            synchronized (mKeyIndex) {
+
+                mKeyIndex.put(superToast.getKey(), superToast);
+
+            }
+
+        }
+
+    }
+
+    /* Removes a SuperToast from the index if the index still points to it */
+    private void unindex(SuperToast superToast) {
+
+        final String key = superToast.getKey();
+
+        if (key == null) {
+
+            return;
+
+        }
+
+        synchronized (mKeyIndex) {
+
+            if (mKeyIndex.get(key) == superToast) {
+
+                mKeyIndex.remove(key);
+
+            }
+
+        }
+
+    }
+
+    /* Sets a rate limit for a tag or globally if the tag is null */
+    void setRateLimit(final String tag, final float permitsPerSecond, final int burst,
+                      final SuperToast.RateLimitPolicy rateLimitPolicy) {
+
+        if (!MainThreadQueue.isMainThread()) {
+
+            /* Applied on the main thread in order with the toasts shown from the same thread */
+            MainThreadQueue.getInstance().execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    setRateLimit(tag, permitsPerSecond, burst, rateLimitPolicy);
+
+                }
+
+            });
+
+            return;
+
+        }
+
+        mRateLimiter.setRateLimit(tag, permitsPerSecond, burst, rateLimitPolicy);
+
+    }
+
+    /* Applies the rate limit policy to a SuperToast that exceeded its rate limit */
+    private void rateLimit(SuperToast superToast) {
+
+        final long delay = mRateLimiter.getDelay(superToast.getTag());
+
+        switch (mRateLimiter.getPolicy(superToast.getTag())) {
+
+            case DEFER: {
+
+                mDeferredQueue.add(superToast);
+                this.index(superToast);
+
+                if (!hasMessages(Messages.RETRY_SUPERTOAST)) {
+
+                    sendEmptyMessageDelayed(Messages.RETRY_SUPERTOAST, delay);
+
+                }
+
+                break;
+
+            }
+
+            case DIGEST: {
+
+                mDigestSourceSuperToast = superToast;
+                mDigestCount++;
+
+                if (!hasMessages(Messages.DIGEST_SUPERTOAST)) {
+
+                    sendEmptyMessageDelayed(Messages.DIGEST_SUPERTOAST, delay);
+
+                }
+
+                break;
+
+            }
+
+            default: {
+
+                /* The SuperToast is dropped */
+
+                break;
+
+            }
+
+        }
+
+    }
+
+    /* Adds deferred SuperToasts that are no longer rate limited */
+    private void retryDeferredSuperToasts() {
+
+        long nextDelay = Long.MAX_VALUE;
+
+        final Iterator<SuperToast> deferredIterator = mDeferredQueue.iterator();
+
+        while (deferredIterator.hasNext()) {
+
+            final SuperToast deferredSuperToast = deferredIterator.next();
+
+            if (deferredSuperToast.isCancelled()) {
+
+                deferredIterator.remove();
+                deferredSuperToast.setCancelled(false);
+
+            } else if (mRateLimiter.tryAcquire(deferredSuperToast.getTag())) {
+
+                deferredIterator.remove();
+
+                this.enqueue(deferredSuperToast);
+
+            } else {
+
+                nextDelay = Math.min(nextDelay, mRateLimiter.getDelay(deferredSuperToast.getTag()));
+
+            }
+
+        }
+
+        if (!mDeferredQueue.isEmpty()) {
+
+            sendEmptyMessageDelayed(Messages.RETRY_SUPERTOAST, nextDelay);
+
+        }
+
+    }
+
+    /* Adds a single SuperToast in place of all SuperToasts folded by the DIGEST rate limit policy */
+    private void showDigestSuperToast() {
+
+        if (mDigestCount == 0 || mDigestSourceSuperToast == null) {
+
+            return;
+
+        }
+
+        final SuperToast digestSuperToast = new SuperToast(mDigestSourceSuperToast.getContext());
+        digestSuperToast.setText(String.format(SUMMARY_FORMAT, mDigestCount));
+        digestSuperToast.prepareWindowManagerParams();
+
+        mDigestSourceSuperToast = null;
+        mDigestCount = 0;
+
+        this.enqueue(digestSuperToast);
+
+    }
+
+    /* Sets the maximum amount of pending SuperToasts and the policy used when it is reached */
+    void setQueueCapacity(final int queueCapacity, final SuperToast.OverflowPolicy overflowPolicy) {
+
+        if (!MainThreadQueue.isMainThread()) {
+
+            MainThreadQueue.getInstance().execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    setQueueCapacity(queueCapacity, overflowPolicy);
+
+                }
+
+            });
+
+            return;
+
+        }
+
+        this.mQueueCapacity = Math.max(1, queueCapacity);
+        this.mOverflowPolicy = overflowPolicy;
+
+    }
+
+    /* Sets the amount of pending SuperToasts that are collapsed into a summary, zero disables digests */
+    void setDigestThreshold(final int digestThreshold, final SuperToast.OnExpandListener onExpandListener) {
+
+        if (!MainThreadQueue.isMainThread()) {
+
+            MainThreadQueue.getInstance().execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    setDigestThreshold(digestThreshold, onExpandListener);
+
+                }
+
+            });
+
+            return;
+
+        }
+
+        this.mDigestThreshold = digestThreshold > 0 ? Math.max(2, digestThreshold) : Integer.MAX_VALUE;
+        this.mOnExpandListener = onExpandListener;
+
+    }
+
+    /* Returns the amount of SuperToasts discarded by an overflow policy */
+    int getOverflowCount(SuperToast.OverflowPolicy overflowPolicy) {
+
+        return mOverflowCounts[overflowPolicy.ordinal()];
+
+    }
+
+    /* Returns the amount of SuperToasts discarded because their time to live passed */
+    int getExpiredCount() {
+
+        return mExpiredCount;
+
+    }
+
+    /* Applies the overflow policy to a full queue, returns true if the SuperToast should still be added */
+    private boolean handleOverflow(SuperToast superToast) {
+
+        final int policyIndex = mOverflowPolicy.ordinal();
+
+        switch (mOverflowPolicy) {
+
+            case DROP_OLDEST: {
+
+                SuperToast oldestSuperToast = null;
+
+                /* Queue sequences are unique so the result does not depend on the iteration order */
+                for (SuperToast queuedSuperToast : mQueue) {
+
+                    if (queuedSuperToast.isCancelled()) {
+
+                        continue;
+
+                    }
+
+                    if (oldestSuperToast == null || queuedSuperToast
+                            .getQueueSequence() < oldestSuperToast.getQueueSequence()) {
+
+                        oldestSuperToast = queuedSuperToast;
+
+                    }
+
+                }
+
+                if (oldestSuperToast != null) {
+
+                    mQueue.remove(oldestSuperToast);
+                    this.onRemovedFromQueue(oldestSuperToast);
+                    this.unindex(oldestSuperToast);
+                    mOverflowCounts[policyIndex]++;
+
+                }
+
+                return true;
+
+            }
+
+            case REPLACE_LOWEST_PRIORITY: {
+
+                /* The SuperToast that would be shown last has the lowest priority */
+                final SuperToast[] sortedQueue = getSortedQueue();
+
+                SuperToast lowestSuperToast = null;
+
+                for (int i = sortedQueue.length - 1; i >= 0 && lowestSuperToast == null; i--) {
+
+                    if (!sortedQueue[i].isCancelled()) {
+
+                        lowestSuperToast = sortedQueue[i];
+
+                    }
+
+                }
+
+                mOverflowCounts[policyIndex]++;
+
+                if (lowestSuperToast != null && lowestSuperToast.getPriority()
+                        .ordinal() < superToast.getPriority().ordinal()) {
+
+                    mQueue.remove(lowestSuperToast);
+                    this.onRemovedFromQueue(lowestSuperToast);
+                    this.unindex(lowestSuperToast);
+
+                    return true;
+
+                }
+
+                return false;
+
+            }
+
+            case COLLAPSE_INTO_SUMMARY: {
+
+                collapseIntoSummary(superToast, true);
+
+                return false;
+
+            }
+
+            default: {
+
+                mOverflowCounts[policyIndex]++;
+
+                return false;
+
+            }
+
+        }
+
+    }
+
+    /* Replaces all pending SuperToasts and the one being added with a single summary SuperToast */
+    private void collapseIntoSummary(SuperToast superToast, boolean isOverflow) {
+
+        SuperToast.Priority priority = superToast.getPriority();
+
+        /* The SuperToast being added is discarded along with all pending SuperToasts */
+        int discardedCount = 1;
+        int collapsedCount = 1;
+
+        final ArrayList<CharSequence> messages = new ArrayList<CharSequence>();
+
+        /* Iterating the priority queue itself has no defined order, the messages are listed in display order */
+        for (SuperToast queuedSuperToast : getSortedQueue()) {
+
+            final boolean isCancelled = queuedSuperToast.isCancelled();
+
+            this.onRemovedFromQueue(queuedSuperToast);
+
+            if (isCancelled) {
+
+                continue;
+
+            }
+
+            this.unindex(queuedSuperToast);
+
+            if (queuedSuperToast == mSummarySuperToast) {
+
+                collapsedCount += mSummaryCount;
+
+                if (mSummaryMessages != null) {
+
+                    messages.addAll(mSummaryMessages);
+
+                }
+
+            } else {
+
+                discardedCount++;
+                collapsedCount++;
+
+                messages.add(queuedSuperToast.getText());
+
+            }
+
+            if (queuedSuperToast.getPriority().ordinal() > priority.ordinal()) {
+
+                priority = queuedSuperToast.getPriority();
+
+            }
+
+        }
+
+        messages.add(superToast.getText());
+
+        if (isOverflow) {
+
+            mOverflowCounts[SuperToast.OverflowPolicy.COLLAPSE_INTO_SUMMARY.ordinal()] += discardedCount;
+
+        }
+
+        mQueue.clear();
+
+        mSummarySuperToast = new SuperToast(superToast.getContext());
+        mSummarySuperToast.setText(String.format(SUMMARY_FORMAT, collapsedCount));
+        mSummarySuperToast.setPriority(priority);
+
+        if (mOnExpandListener != null) {
+
+            /* Set before the window params are created so the window receives touches */
+            mSummarySuperToast.setOnExpandListener(mOnExpandListener, messages);
+
+        }
+
+        mSummarySuperToast.prepareWindowManagerParams();
+        mSummaryCount = collapsedCount;
+        mSummaryMessages = messages;
+
+        this.addToQueue(mSummarySuperToast);
+        this.showNextSuperToast();
+
+    }
+
+    /* Returns the pending SuperToasts in the order they would be shown */
+    private SuperToast[] getSortedQueue() {
+
+        final SuperToast[] sortedQueue = mQueue.toArray(new SuperToast[mQueue.size()]);
+
+        Arrays.sort(sortedQueue, mPriorityComparator);
+
+        return sortedQueue;
+
+    }
+
+    /* Shows the next SuperToast in the queue */
+    private void showNextSuperToast() {
+
+        if (mCurrentSuperToast == null) {
+
+            this.dropStaleSuperToasts();
+
+        }
+
+        if (mQueue.isEmpty()) {
+
+            /* There is no SuperToast to display next */
+
+            if (mCurrentSuperToast == null) {
 
-import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
+                removePersistentWindow();
 
-/* Manages the life of a SuperToast. Initially copied from the Crouton library */
-public class ManagerSuperToast extends Handler {
+            }
 
-    @SuppressWarnings("UnusedDeclaration")
-    private static final String TAG = "ManagerSuperToast";
+            return;
 
-    /* Potential messages for the handler to send **/
-    private static final class Messages {
+        }
 
-        /* Hexadecimal numbers that represent acronyms for the operation **/
-        private static final int DISPLAY_SUPERTOAST = 0x445354;
-        private static final int ADD_SUPERTOAST = 0x415354;
-        private static final int REMOVE_SUPERTOAST = 0x525354;
+        if (mCurrentSuperToast != null) {
 
-    }
+            /* The next SuperToast will be shown when the current one is removed */
 
-    private static ManagerSuperToast mManagerSuperToast;
+            return;
 
-    private final Queue<SuperToast> mQueue;
+        }
 
-    /* Private method to create a new list if the manager is being initialized */
-    private ManagerSuperToast() {
+        /* Get the SuperToast with the highest priority in the queue */
+        final SuperToast superToast = mQueue.poll();
+        this.onRemovedFromQueue(superToast);
+
+        mCurrentSuperToast = superToast;
 
-        mQueue = new LinkedBlockingQueue<SuperToast>();
+        final Message message = obtainMessage(Messages.ADD_SUPERTOAST);
+        message.obj = superToast;
+        sendMessage(message);
 
     }
 
-    /* Singleton method to ensure all SuperToasts are passed through the same manager */
-    protected static synchronized ManagerSuperToast getInstance() {
+    /* Drops SuperToasts at the front of the queue that were cancelled by key or whose time to live passed */
+    private void dropStaleSuperToasts() {
 
-        if (mManagerSuperToast != null) {
+        final long now = SystemClock.uptimeMillis();
 
-            return mManagerSuperToast;
+        while (!mQueue.isEmpty()) {
 
-        } else {
+            final SuperToast superToast = mQueue.peek();
 
-            mManagerSuperToast = new ManagerSuperToast();
+            if (superToast.isCancelled()) {
 
-            return mManagerSuperToast;
+                mQueue.poll();
+                this.onRemovedFromQueue(superToast);
+
+            } else if (superToast.isExpired(now)) {
+
+                /* Discarded before its view is inflated or added to a window */
+                mQueue.poll();
+                this.onRemovedFromQueue(superToast);
+                this.unindex(superToast);
+                mExpiredCount++;
+
+            } else {
+
+                break;
+
+            }
 
         }
 
     }
 
-    /* Add SuperToast to queue and try to show it */
-    protected void add(SuperToast superToast) {
+    /* Enables/disables merging of identical SuperToasts */
+    void setCoalesceDuplicates(final boolean coalesceDuplicates) {
 
-        /* Add SuperToast to queue and try to show it */
-        mQueue.add(superToast);
-        this.showNextSuperToast();
+        if (!MainThreadQueue.isMainThread()) {
 
-    }
+            MainThreadQueue.getInstance().execute(new Runnable() {
 
-    /* Shows the next SuperToast in the list */
-    private void showNextSuperToast() {
+                @Override
+                public void run() {
 
-        if (mQueue.isEmpty()) {
+                    setCoalesceDuplicates(coalesceDuplicates);
 
-            /* There is no SuperToast to display next */
+                }
+
+            });
 
             return;
 
         }
 
-        /* Get next SuperToast in the queue */
-        final SuperToast superToast = mQueue.peek();
+        this.mCoalesceDuplicates = coalesceDuplicates;
+
+    }
+
+    /* Returns a showing/pending SuperToast identical to the one given or null */
+    private SuperToast findDuplicate(SuperToast superToast) {
+
+        if (mCurrentSuperToast != null && mCurrentSuperToast.isDuplicateOf(superToast)) {
+
+            return mCurrentSuperToast;
+
+        }
+
+        for (SuperToast queuedSuperToast : mQueue) {
 
-        /* Show SuperToast if none are showing (not sure why this works but it does) */
-        if (!superToast.isShowing()) {
+            if (!queuedSuperToast.isCancelled() && queuedSuperToast.isDuplicateOf(superToast)) {
 
-            final Message message = obtainMessage(Messages.ADD_SUPERTOAST);
-            message.obj = superToast;
-            sendMessage(message);
+                return queuedSuperToast;
 
-        } else {
+            }
+
+        }
+
+        return null;
+
+    }
+
+    /* Updates the counter of a SuperToast and restarts its duration if it is showing */
+    private void coalesce(SuperToast superToast) {
+
+        superToast.incrementOccurrenceCount();
 
-            sendMessageDelayed(superToast, Messages.DISPLAY_SUPERTOAST,
-                    getDuration(superToast));
+        if (superToast == mCurrentSuperToast && hasMessages(Messages.REMOVE_SUPERTOAST, superToast)) {
+
+            removeMessages(Messages.REMOVE_SUPERTOAST, superToast);
+
+            sendMessageDelayed(superToast, Messages.REMOVE_SUPERTOAST,
+                    getDisplayDuration(superToast));
 
         }
 
@@ -117,16 +914,6 @@ public class ManagerSuperToast extends Handler {
 
     }
 
-    /* Get duration and add one second to compensate for show/hide animations */
-    private long getDuration(SuperToast superToast) {
-
-        long duration = superToast.getDuration();
-        duration += 1000;
-
-        return duration;
-
-    }
-
     @Override
     public void handleMessage(Message message) {
 
@@ -153,6 +940,18 @@ public class ManagerSuperToast extends Handler {
 
                 break;
 
+            case Messages.RETRY_SUPERTOAST:
+
+                retryDeferredSuperToasts();
+
+                break;
+
+            case Messages.DIGEST_SUPERTOAST:
+
+                showDigestSuperToast();
+
+                break;
+
             default: {
 
                 super.handleMessage(message);
@@ -166,6 +965,7 @@ public class ManagerSuperToast extends Handler {
     }
 
     /* Displays a SuperToast */
+    @SuppressLint("NewApi")
     private void displaySuperToast(SuperToast superToast) {
 
         if (superToast.isShowing()) {
@@ -184,33 +984,197 @@ public class ManagerSuperToast extends Handler {
         final WindowManager.LayoutParams params = superToast
                 .getWindowManagerParams();
 
+        if (mUsePersistentWindow && windowManager != null) {
+
+            displayInPersistentWindow(superToast);
+
+            return;
+
+        }
+
         if(windowManager != null) {
 
+            if (USE_WINDOW_CALLBACKS) {
+
+                /* The SuperToast will be removed after its duration once it is attached */
+                toastView.addOnAttachStateChangeListener(getWindowStateListener());
+
+            }
+
             windowManager.addView(toastView, params);
 
         }
 
+        if (!USE_WINDOW_CALLBACKS || windowManager == null) {
+
+            sendMessageDelayed(superToast, Messages.REMOVE_SUPERTOAST,
+                    getDisplayDuration(superToast));
+
+        }
+
+    }
+
+    /* Displays a SuperToast by swapping it into the persistent window, the window is only added once */
+    private void displayInPersistentWindow(SuperToast superToast) {
+
+        final WindowManager.LayoutParams params = superToast
+                .getWindowManagerParams();
+
+        if (mPersistentWindow == null) {
+
+            mPersistentWindow = new FrameLayout(superToast.getContext()
+                    .getApplicationContext());
+
+        }
+
+        if (mPersistentWindowManager == null) {
+
+            mPersistentWindowManager = superToast.getWindowManager();
+            mPersistentWindowManager.addView(mPersistentWindow, params);
+            mPersistentWindowParams = params;
+
+        } else if (mPersistentWindowParams.gravity != params.gravity
+                || mPersistentWindowParams.x != params.x || mPersistentWindowParams.y != params.y
+                || mPersistentWindowParams.windowAnimations != params.windowAnimations) {
+
+            mPersistentWindowManager.updateViewLayout(mPersistentWindow, params);
+            mPersistentWindowParams = params;
+
+        }
+
+        /* Swap the content of the window */
+        mPersistentWindow.removeAllViews();
+
+        if (mPersistentWindowSuperToast != null) {
+
+            mPersistentWindowSuperToast.recycleView();
+
+        }
+
+        mPersistentWindow.addView(superToast.getView());
+
+        mPersistentWindowSuperToast = superToast;
+
         sendMessageDelayed(superToast, Messages.REMOVE_SUPERTOAST,
-                superToast.getDuration() + 500);
+                superToast.getDuration());
+
+    }
+
+    /* Removes the persistent window if it is attached */
+    private void removePersistentWindow() {
+
+        if (mPersistentWindowManager != null) {
+
+            mPersistentWindowManager.removeView(mPersistentWindow);
+
+            mPersistentWindowManager = null;
+            mPersistentWindowParams = null;
+
+        }
+
+        if (mPersistentWindow != null) {
+
+            mPersistentWindow.removeAllViews();
+
+        }
+
+        if (mPersistentWindowSuperToast != null) {
+
+            mPersistentWindowSuperToast.recycleView();
+
+            mPersistentWindowSuperToast = null;
+
+        }
+
+    }
+
+    /* Enables/disables showing all SuperToasts in a single persistent window */
+    void setUsePersistentWindow(final boolean usePersistentWindow) {
+
+        if (!MainThreadQueue.isMainThread()) {
+
+            MainThreadQueue.getInstance().execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    setUsePersistentWindow(usePersistentWindow);
+
+                }
+
+            });
+
+            return;
+
+        }
+
+        this.mUsePersistentWindow = usePersistentWindow;
+
+        if (!usePersistentWindow && mCurrentSuperToast == null) {
+
+            removePersistentWindow();
+
+        }
+
+    }
+
+    /* Returns the time a SuperToast is displayed, padded if window callbacks are not available */
+    private long getDisplayDuration(SuperToast superToast) {
+
+        return USE_WINDOW_CALLBACKS ? superToast.getDuration()
+                : superToast.getDuration() + ANIMATION_PADDING;
+
+    }
+
+    /* Returns the single listener used for all SuperToast windows */
+    private WindowStateListener getWindowStateListener() {
+
+        if (mWindowStateListener == null) {
+
+            mWindowStateListener = new WindowStateListener();
+
+        }
+
+        return mWindowStateListener;
 
     }
 
     /* Hide and remove the SuperToast */
     protected void removeSuperToast(SuperToast superToast) {
 
+        this.unindex(superToast);
+
+        if (superToast != mCurrentSuperToast) {
+
+            /* The SuperToast was dismissed before it was shown */
+            if (superToast.isQueued()) {
+
+                mQueue.remove(superToast);
+                this.onRemovedFromQueue(superToast);
+
+            } else {
+
+                mDeferredQueue.remove(superToast);
+                superToast.setCancelled(false);
+
+            }
+
+            return;
+
+        }
+
+        /* If being called somewhere else get rid of pending messages */
+        removeMessages(Messages.ADD_SUPERTOAST, superToast);
+        removeMessages(Messages.REMOVE_SUPERTOAST, superToast);
+
         final WindowManager windowManager = superToast
                 .getWindowManager();
 
         final View toastView = superToast.getView();
 
-        if (windowManager != null) {
+        if (mPersistentWindow != null && toastView.getParent() == mPersistentWindow) {
 
-            mQueue.poll();
-
-            windowManager.removeView(toastView);
-
-            sendMessageDelayed(superToast,
-                    Messages.DISPLAY_SUPERTOAST, 500);
+            mCurrentSuperToast = null;
 
             if(superToast.getOnDismissListener() != null) {
 
@@ -218,6 +1182,52 @@ public class ManagerSuperToast extends Handler {
 
             }
 
+            /* Keep the window and its content until the next SuperToast is swapped in */
+            if (mQueue.isEmpty() || !mUsePersistentWindow) {
+
+                removePersistentWindow();
+
+            }
+
+            sendMessageDelayed(superToast, Messages.DISPLAY_SUPERTOAST, 0);
+
+            return;
+
+        }
+
+        final boolean isShowing = superToast.isShowing();
+
+        if (windowManager != null && isShowing) {
+
+            /* Detaches the view right away so it has no parent when it is recycled below */
+            windowManager.removeViewImmediate(toastView);
+
+        }
+
+        mCurrentSuperToast = null;
+
+        if (!USE_WINDOW_CALLBACKS) {
+
+            sendMessageDelayed(superToast,
+                    Messages.DISPLAY_SUPERTOAST, ANIMATION_PADDING);
+
+        } else if (!isShowing || windowManager == null) {
+
+            /* There is no window to wait for so show the next SuperToast right away */
+            sendMessageDelayed(superToast, Messages.DISPLAY_SUPERTOAST, 0);
+
+        }
+
+        if(superToast.getOnDismissListener() != null) {
+
+            superToast.getOnDismissListener().onDismiss(superToast.getView());
+
+        }
+
+        if (windowManager != null && isShowing) {
+
+            superToast.recycleView();
+
         }
 
     }
@@ -228,19 +1238,107 @@ public class ManagerSuperToast extends Handler {
         removeMessages(Messages.ADD_SUPERTOAST);
         removeMessages(Messages.DISPLAY_SUPERTOAST);
         removeMessages(Messages.REMOVE_SUPERTOAST);
+        removeMessages(Messages.RETRY_SUPERTOAST);
+        removeMessages(Messages.DIGEST_SUPERTOAST);
+
+        for (SuperToast deferredSuperToast : mDeferredQueue) {
 
-        for (SuperToast superToast : mQueue) {
+            deferredSuperToast.setCancelled(false);
 
-            if (superToast.isShowing()) {
+        }
 
-                superToast.getWindowManager().removeView(
-                        superToast.getView());
+        mDeferredQueue.clear();
+        mDigestSourceSuperToast = null;
+        mDigestCount = 0;
 
-            }
+        if (mPersistentWindowManager != null) {
+
+            removePersistentWindow();
+
+        } else if (mCurrentSuperToast != null && mCurrentSuperToast.isShowing()) {
+
+            mCurrentSuperToast.getWindowManager().removeViewImmediate(
+                    mCurrentSuperToast.getView());
+
+            mCurrentSuperToast.recycleView();
+
+        }
+
+        mCurrentSuperToast = null;
+
+        for (SuperToast queuedSuperToast : mQueue) {
+
+            queuedSuperToast.setQueued(false);
+            queuedSuperToast.setCancelled(false);
 
         }
 
         mQueue.clear();
+        mCancelledCount = 0;
+
+        synchronized (mKeyIndex) {
+
+            mKeyIndex.clear();
+
+        }
+
+    }
+
+    /* Starts the duration of a SuperToast when its window is attached and shows the next SuperToast when it is detached */
+    @SuppressLint("NewApi")
+    private class WindowStateListener implements View.OnAttachStateChangeListener {
+
+        @Override
+        public void onViewAttachedToWindow(View view) {
+
+            if (mCurrentSuperToast != null && mCurrentSuperToast.getView() == view) {
+
+                sendMessageDelayed(mCurrentSuperToast, Messages.REMOVE_SUPERTOAST,
+                        mCurrentSuperToast.getDuration());
+
+            }
+
+        }
+
+        @Override
+        public void onViewDetachedFromWindow(View view) {
+
+            view.removeOnAttachStateChangeListener(this);
+
+            /* The view is detached while it is being removed so show the next SuperToast afterwards */
+            sendMessageDelayed(null, Messages.DISPLAY_SUPERTOAST, 0);
+
+        }
+
+    }
+
+    /* Orders SuperToasts by priority and then by the order they were added */
+    private static class PriorityComparator implements Comparator<SuperToast> {
+
+        @Override
+        public int compare(SuperToast lhs, SuperToast rhs) {
+
+            if (lhs.getPriority() != rhs.getPriority()) {
+
+                return rhs.getPriority().ordinal() - lhs.getPriority().ordinal();
+
+            }
+
+            if (lhs.getQueueSequence() < rhs.getQueueSequence()) {
+
+                return -1;
+
+            } else if (lhs.getQueueSequence() > rhs.getQueueSequence()) {
+
+                return 1;
+
+            } else {
+
+                return 0;
+
+            }
+
+        }
 
     }
 
@@ -0,0 +1,177 @@
+/**
+ *  Copyright 2014 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.github.johnpersano.supertoasts;
+
+import android.annotation.SuppressLint;
+import android.os.Build;
+import android.view.Choreographer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stores the latest progress of a toast and applies it at most once per frame. Progress
+ * can be set from any thread, the latest value is always applied on the main thread.
+ * Frames are timed by the Choreographer on API 16 and above and by a fixed delay below.
+ */
+class ProgressSink {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final String TAG = "ProgressSink";
+
+    /* Delay between updates when the Choreographer is not available */
+    private static final long FRAME_DELAY = 16;
+
+    /**
+     * Receives the progress on the main thread.
+     */
+    interface Target {
+
+        void onProgress(int progress);
+
+    }
+
+    private final Target mTarget;
+
+    private final AtomicInteger mProgress;
+
+    /* True while an update is scheduled so a burst of progress only schedules one frame */
+    private final AtomicBoolean mIsScheduled;
+
+    private VsyncCallback mVsyncCallback;
+
+    ProgressSink(Target target) {
+
+        this.mTarget = target;
+        this.mProgress = new AtomicInteger();
+        this.mIsScheduled = new AtomicBoolean();
+
+    }
+
+    /**
+     * Stores the progress and schedules it to be applied on the next frame.
+     */
+    void setProgress(int progress) {
+
+        mProgress.set(progress);
+
+        if (mIsScheduled.compareAndSet(false, true)) {
+
+            if (MainThreadQueue.isMainThread()) {
+
+                scheduleFrame();
+
+            } else {
+
+                MainThreadQueue.getInstance().execute(mScheduleFrameRunnable);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Returns the latest progress even if it was not applied yet.
+     */
+    int getProgress() {
+
+        return mProgress.get();
+
+    }
+
+    @SuppressLint("NewApi")
+    private void scheduleFrame() {
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+
+            if (mVsyncCallback == null) {
+
+                mVsyncCallback = new VsyncCallback(this);
+
+            }
+
+            Choreographer.getInstance().postFrameCallback(mVsyncCallback);
+
+        } else {
+
+            MainThreadQueue.getInstance().postDelayed(mApplyRunnable, FRAME_DELAY);
+
+        }
+
+    }
+
+    private void apply() {
+
+        /* Cleared before reading so progress set after the read schedules another frame */
+        mIsScheduled.set(false);
+
+        mTarget.onProgress(mProgress.get());
+
+    }
+
+    /**
+     * Runnable to schedule a frame from the main thread.
+     */
+    private final Runnable mScheduleFrameRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+
+            scheduleFrame();
+
+        }
+
+    };
+
+    /**
+     * Runnable to apply the progress when the Choreographer is not available.
+     */
+    private final Runnable mApplyRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+
+            apply();
+
+        }
+
+    };
+
+    /* Kept in its own class so it is never loaded below API 16 */
+    @SuppressLint("NewApi")
+    private static class VsyncCallback implements Choreographer.FrameCallback {
+
+        private final ProgressSink mProgressSink;
+
+        VsyncCallback(ProgressSink progressSink) {
+
+            this.mProgressSink = progressSink;
+
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+
+            mProgressSink.apply();
+
+        }
+
+    }
+
+}
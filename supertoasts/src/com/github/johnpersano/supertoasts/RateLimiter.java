@@ -0,0 +1,183 @@
+/**
+ *  Copyright 2014 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.github.johnpersano.supertoasts;
+
+import android.os.SystemClock;
+
+import java.util.HashMap;
+
+/**
+ * Token bucket rate limiter used by the managers to cap how often toasts can be added.
+ * A rate limit can be set globally or for a specific tag. A tag specific rate limit
+ * takes precedence over the global rate limit.
+ */
+class RateLimiter {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final String TAG = "RateLimiter";
+
+    private static final float MILLIS_PER_SECOND = 1000f;
+
+    private final HashMap<String, Bucket> mTagBuckets;
+
+    private Bucket mGlobalBucket;
+
+    RateLimiter() {
+
+        mTagBuckets = new HashMap<String, Bucket>();
+
+    }
+
+    /**
+     * Sets a rate limit for a tag or globally if the tag is null. A rate of zero or less
+     * removes the rate limit.
+     */
+    void setRateLimit(String tag, float permitsPerSecond, int burst, SuperToast.RateLimitPolicy policy) {
+
+        final Bucket bucket = permitsPerSecond > 0 ? new Bucket(permitsPerSecond,
+                Math.max(1, burst), policy) : null;
+
+        if (tag == null) {
+
+            mGlobalBucket = bucket;
+
+        } else if (bucket == null) {
+
+            mTagBuckets.remove(tag);
+
+        } else {
+
+            mTagBuckets.put(tag, bucket);
+
+        }
+
+    }
+
+    /**
+     * Takes a token for the tag. Returns false if the tag is currently rate limited.
+     */
+    boolean tryAcquire(String tag) {
+
+        final Bucket bucket = getBucket(tag);
+
+        return bucket == null || bucket.tryAcquire(SystemClock.uptimeMillis());
+
+    }
+
+    /**
+     * Returns the time in milliseconds until a token is available for the tag.
+     */
+    long getDelay(String tag) {
+
+        final Bucket bucket = getBucket(tag);
+
+        return bucket == null ? 0 : bucket.getDelay(SystemClock.uptimeMillis());
+
+    }
+
+    /**
+     * Returns the policy used for toasts with the tag that exceed the rate limit.
+     */
+    SuperToast.RateLimitPolicy getPolicy(String tag) {
+
+        final Bucket bucket = getBucket(tag);
+
+        return bucket == null ? SuperToast.RateLimitPolicy.DROP : bucket.mPolicy;
+
+    }
+
+    private Bucket getBucket(String tag) {
+
+        if (tag != null) {
+
+            final Bucket bucket = mTagBuckets.get(tag);
+
+            if (bucket != null) {
+
+                return bucket;
+
+            }
+
+        }
+
+        return mGlobalBucket;
+
+    }
+
+    /**
+     * A single token bucket that refills continuously at a fixed rate.
+     */
+    private static class Bucket {
+
+        final float mPermitsPerMillisecond;
+        final int mBurst;
+        final SuperToast.RateLimitPolicy mPolicy;
+
+        float mTokens;
+        long mLastRefillTime;
+
+        Bucket(float permitsPerSecond, int burst, SuperToast.RateLimitPolicy policy) {
+
+            this.mPermitsPerMillisecond = permitsPerSecond / MILLIS_PER_SECOND;
+            this.mBurst = burst;
+            this.mPolicy = policy;
+            this.mTokens = burst;
+            this.mLastRefillTime = SystemClock.uptimeMillis();
+
+        }
+
+        boolean tryAcquire(long now) {
+
+            refill(now);
+
+            if (mTokens >= 1f) {
+
+                mTokens -= 1f;
+
+                return true;
+
+            }
+
+            return false;
+
+        }
+
+        long getDelay(long now) {
+
+            refill(now);
+
+            if (mTokens >= 1f) {
+
+                return 0;
+
+            }
+
+            return (long) Math.ceil((1f - mTokens) / mPermitsPerMillisecond);
+
+        }
+
+        private void refill(long now) {
+
+            mTokens = Math.min(mBurst, mTokens + (now - mLastRefillTime) * mPermitsPerMillisecond);
+            mLastRefillTime = now;
+
+        }
+
+    }
+
+}
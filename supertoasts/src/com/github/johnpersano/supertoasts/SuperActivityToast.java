@@ -18,8 +18,8 @@
 package com.github.johnpersano.supertoasts;
 
 import android.app.Activity;
-import android.content.Context;
 import android.content.res.Configuration;
+import android.content.res.Resources;
 import android.graphics.Color;
 import android.graphics.Typeface;
 import android.os.Bundle;
@@ -38,7 +38,9 @@ import com.github.johnpersano.supertoasts.util.OnDismissWrapper;
 import com.github.johnpersano.supertoasts.util.Style;
 import com.github.johnpersano.supertoasts.util.Wrappers;
 
+import java.lang.ref.WeakReference;
 import java.util.LinkedList;
+import java.util.List;
 
 
 /**
@@ -59,33 +61,49 @@ public class SuperActivityToast {
     /* Bundle tag with a hex as a string so it can't interfere with other tags in the bundle */
     private static final String BUNDLE_TAG = "0x532e412e542e";
 
-    private Activity mActivity;
+    private WeakReference<Activity> mActivity;
+    private Resources mResources;
     private Animations mAnimations = Animations.FADE;
     private boolean mIsIndeterminate;
     private boolean mIsTouchDismissible;
     private boolean isProgressIndeterminate;
+    private boolean mIsDividerColorSet;
+    private boolean mIsDismissing;
+    private boolean mIsCancelled;
     private boolean showImmediate;
     private Button mButton;
+    private CharSequence mButtonText;
+    private CharSequence mText;
+    private float mButtonTextSize;
+    private float mTextSize;
     private IconPosition mIconPosition;
     private int mDuration = SuperToast.Duration.SHORT;
     private int mBackground = Style.getBackground(Style.GRAY);
     private int mButtonIcon = SuperToast.Icon.Dark.UNDO;
+    private int mButtonTextColor;
     private int mDividerColor = Color.LTGRAY;
     private int mIcon;
+    private int mLayoutResource;
+    private int mMaxProgress = 100;
+    private int mTextColor;
     private int mTypefaceStyle = Typeface.NORMAL;
     private int mButtonTypefaceStyle = Typeface.BOLD;
-    private LayoutInflater mLayoutInflater;
     private LinearLayout mRootLayout;
+    private FrameLayout.LayoutParams mRootLayoutParams;
     private OnDismissWrapper mOnDismissWrapper;
+    private SuperToast.OnExpandListener mOnExpandListener;
+    private List<CharSequence> mExpandMessages;
     private OnClickWrapper mOnClickWrapper;
     private Parcelable mToken;
     private ProgressBar mProgressBar;
+    private String mKey;
     private String mOnClickWrapperTag;
     private String mOnDismissWrapperTag;
+    private String mTag;
     private TextView mMessageTextView;
     private Type mType = Type.STANDARD;
     private View mDividerView;
-    private ViewGroup mViewGroup;
+    private WeakReference<ViewGroup> mViewGroup;
     private View mToastView;
 
     /**
@@ -101,22 +119,14 @@ public class SuperActivityToast {
 
         }
 
-        this.mActivity = activity;
+        this.mActivity = new WeakReference<Activity>(activity);
+        this.mResources = activity.getResources();
 
-        mLayoutInflater = (LayoutInflater) activity
-                .getSystemService(Context.LAYOUT_INFLATER_SERVICE);
+        mViewGroup = new WeakReference<ViewGroup>((ViewGroup) activity
+                .findViewById(android.R.id.content));
 
-        mViewGroup = (ViewGroup) activity
-                .findViewById(android.R.id.content);
-
-        mToastView = mLayoutInflater.inflate(R.layout.supertoast,
-                mViewGroup, false);
-
-        mMessageTextView = (TextView) mToastView
-                .findViewById(R.id.message_textview);
-
-        mRootLayout = (LinearLayout) mToastView
-                .findViewById(R.id.root_layout);
+        mTextColor = activity.getResources().getColor(R.color.white);
+        mButtonTextColor = activity.getResources().getColor(R.color.light_gray);
 
     }
 
@@ -134,22 +144,14 @@ public class SuperActivityToast {
 
         }
 
-        this.mActivity = activity;
-
-        mLayoutInflater = (LayoutInflater) activity
-                .getSystemService(Context.LAYOUT_INFLATER_SERVICE);
+        this.mActivity = new WeakReference<Activity>(activity);
+        this.mResources = activity.getResources();
 
-        mViewGroup = (ViewGroup) activity
-                .findViewById(android.R.id.content);
+        mViewGroup = new WeakReference<ViewGroup>((ViewGroup) activity
+                .findViewById(android.R.id.content));
 
-        mToastView = mLayoutInflater.inflate(R.layout.supertoast,
-                mViewGroup, false);
-
-        mMessageTextView = (TextView) mToastView
-                .findViewById(R.id.message_textview);
-
-        mRootLayout = (LinearLayout) mToastView
-                .findViewById(R.id.root_layout);
+        mTextColor = activity.getResources().getColor(R.color.white);
+        mButtonTextColor = activity.getResources().getColor(R.color.light_gray);
 
         this.setStyle(style);
 
@@ -169,56 +171,15 @@ public class SuperActivityToast {
 
         }
 
-        this.mActivity = activity;
+        this.mActivity = new WeakReference<Activity>(activity);
+        this.mResources = activity.getResources();
         this.mType = type;
 
-        mLayoutInflater = (LayoutInflater) activity
-                .getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-
-        mViewGroup = (ViewGroup) activity
-                .findViewById(android.R.id.content);
-
-        if (type == Type.STANDARD) {
+        mViewGroup = new WeakReference<ViewGroup>((ViewGroup) activity
+                .findViewById(android.R.id.content));
 
-            mToastView = mLayoutInflater.inflate(
-                    R.layout.supertoast, mViewGroup, false);
-
-        } else if (type == Type.BUTTON) {
-
-            mToastView = mLayoutInflater.inflate(
-                    R.layout.superactivitytoast_button, mViewGroup, false);
-
-            mButton = (Button) mToastView
-                    .findViewById(R.id.button);
-
-            mDividerView = mToastView
-                    .findViewById(R.id.divider);
-
-            mButton.setOnClickListener(mButtonListener);
-
-        } else if (type == Type.PROGRESS) {
-
-            mToastView = mLayoutInflater.inflate(R.layout.superactivitytoast_progresscircle,
-                    mViewGroup, false);
-
-            mProgressBar = (ProgressBar) mToastView
-                    .findViewById(R.id.progress_bar);
-
-        } else if (type == Type.PROGRESS_HORIZONTAL) {
-
-            mToastView = mLayoutInflater.inflate(R.layout.superactivitytoast_progresshorizontal,
-                    mViewGroup, false);
-
-            mProgressBar = (ProgressBar) mToastView
-                    .findViewById(R.id.progress_bar);
-
-        }
-
-        mMessageTextView = (TextView) mToastView
-                .findViewById(R.id.message_textview);
-
-        mRootLayout = (LinearLayout) mToastView
-                .findViewById(R.id.root_layout);
+        mTextColor = activity.getResources().getColor(R.color.white);
+        mButtonTextColor = activity.getResources().getColor(R.color.light_gray);
 
     }
 
@@ -237,69 +198,102 @@ public class SuperActivityToast {
 
         }
 
-        this.mActivity = activity;
+        this.mActivity = new WeakReference<Activity>(activity);
+        this.mResources = activity.getResources();
         this.mType = type;
 
-        mLayoutInflater = (LayoutInflater) activity
-                .getSystemService(Context.LAYOUT_INFLATER_SERVICE);
+        mViewGroup = new WeakReference<ViewGroup>((ViewGroup) activity
+                .findViewById(android.R.id.content));
 
-        mViewGroup = (ViewGroup) activity
-                .findViewById(android.R.id.content);
+        mTextColor = activity.getResources().getColor(R.color.white);
+        mButtonTextColor = activity.getResources().getColor(R.color.light_gray);
 
-        if (type == Type.STANDARD) {
+        this.setStyle(style);
+
+    }
 
-            mToastView = mLayoutInflater.inflate(
-                    R.layout.supertoast, mViewGroup, false);
+    /**
+     * Shows the {@value #TAG}. If another {@value #TAG} is showing than
+     * this one will be added to a queue and shown when the previous {@value #TAG}
+     * is dismissed.
+     */
+    public void show() {
 
-        } else if (type == Type.BUTTON) {
+        if (!MainThreadQueue.isMainThread()) {
 
-            mToastView = mLayoutInflater.inflate(
-                    R.layout.superactivitytoast_button, mViewGroup, false);
+            MainThreadQueue.getInstance().execute(mShowRunnable);
 
-            mButton = (Button) mToastView
-                    .findViewById(R.id.button);
+            return;
 
-            mDividerView = mToastView
-                    .findViewById(R.id.divider);
+        }
 
-            mButton.setOnClickListener(mButtonListener);
+        ActivityLifecycleWatcher.register(getActivity());
 
-        } else if (type == Type.PROGRESS) {
+        ManagerSuperActivityToast.getInstance().add(this);
 
-            mToastView = mLayoutInflater.inflate(R.layout.superactivitytoast_progresscircle,
-                    mViewGroup, false);
+    }
 
-            mProgressBar = (ProgressBar) mToastView
-                    .findViewById(R.id.progress_bar);
+    /**
+     * Sets a tag to the {@value #TAG}. SuperActivityToasts with the same tag share a rate limit,
+     * see {@link #setRateLimit(String, float, int, com.github.johnpersano.supertoasts.SuperToast.RateLimitPolicy)}.
+     *
+     * @param tag {@link String}
+     */
+    public void setTag(String tag) {
 
-        } else if (type == Type.PROGRESS_HORIZONTAL) {
+        this.mTag = tag;
 
-            mToastView = mLayoutInflater.inflate(R.layout.superactivitytoast_progresshorizontal,
-                    mViewGroup, false);
+    }
 
-            mProgressBar = (ProgressBar) mToastView
-                    .findViewById(R.id.progress_bar);
+    /**
+     * Returns the tag of the {@value #TAG}.
+     *
+     * @return {@link String}
+     */
+    public String getTag() {
 
-        }
+        return this.mTag;
 
-        mMessageTextView = (TextView) mToastView
-                .findViewById(R.id.message_textview);
+    }
 
-        mRootLayout = (LinearLayout) mToastView
-                .findViewById(R.id.root_layout);
+    /**
+     * Sets a key to the {@value #TAG}. A {@value #TAG} with a key can be found or
+     * cancelled while it is showing or pending, see {@link #cancel(String)}.
+     *
+     * @param key {@link String}
+     */
+    public void setKey(String key) {
 
-        this.setStyle(style);
+        this.mKey = key;
 
     }
 
     /**
-     * Shows the {@value #TAG}. If another {@value #TAG} is showing than
-     * this one will be added to a queue and shown when the previous {@value #TAG}
-     * is dismissed.
+     * Returns the key of the {@value #TAG}.
+     *
+     * @return {@link String}
      */
-    public void show() {
+    public String getKey() {
 
-        ManagerSuperActivityToast.getInstance().add(this);
+        return this.mKey;
+
+    }
+
+    /**
+     * Used by {@value #MANAGER_TAG} to mark a pending {@value #TAG} that was cancelled by key.
+     */
+    void setCancelled(boolean cancelled) {
+
+        this.mIsCancelled = cancelled;
+
+    }
+
+    /**
+     * Used by {@value #MANAGER_TAG} to skip a cancelled {@value #TAG} at the front of the queue.
+     */
+    boolean isCancelled() {
+
+        return this.mIsCancelled;
 
     }
 
@@ -319,9 +313,32 @@ public class SuperActivityToast {
      *
      * @param text {@link CharSequence}
      */
-    public void setText(CharSequence text) {
+    public void setText(final CharSequence text) {
 
-        mMessageTextView.setText(text);
+        if (!MainThreadQueue.isMainThread()) {
+
+            MainThreadQueue.getInstance().execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    setText(text);
+
+                }
+
+            });
+
+            return;
+
+        }
+
+        this.mText = text;
+
+        if (mMessageTextView != null) {
+
+            mMessageTextView.setText(text);
+
+        }
 
     }
 
@@ -332,7 +349,7 @@ public class SuperActivityToast {
      */
     public CharSequence getText() {
 
-        return mMessageTextView.getText();
+        return mText != null ? mText : getTextView().getText();
 
     }
 
@@ -345,7 +362,11 @@ public class SuperActivityToast {
 
         mTypefaceStyle = typeface;
 
-        mMessageTextView.setTypeface(mMessageTextView.getTypeface(), typeface);
+        if (mMessageTextView != null) {
+
+            mMessageTextView.setTypeface(mMessageTextView.getTypeface(), typeface);
+
+        }
 
     }
 
@@ -367,7 +388,13 @@ public class SuperActivityToast {
      */
     public void setTextColor(int textColor) {
 
-        mMessageTextView.setTextColor(textColor);
+        this.mTextColor = textColor;
+
+        if (mMessageTextView != null) {
+
+            mMessageTextView.setTextColor(textColor);
+
+        }
 
     }
 
@@ -378,7 +405,7 @@ public class SuperActivityToast {
      */
     public int getTextColor() {
 
-        return mMessageTextView.getCurrentTextColor();
+        return mMessageTextView != null ? mMessageTextView.getCurrentTextColor() : mTextColor;
 
     }
 
@@ -389,7 +416,8 @@ public class SuperActivityToast {
      */
     public void setTextSize(int textSize) {
 
-        mMessageTextView.setTextSize(textSize);
+        this.setTextSizeFloat(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
+                textSize, mResources.getDisplayMetrics()));
 
     }
 
@@ -398,7 +426,13 @@ public class SuperActivityToast {
      */
     private void setTextSizeFloat(float textSize) {
 
-        mMessageTextView.setTextSize(TypedValue.COMPLEX_UNIT_PX, textSize);
+        this.mTextSize = textSize;
+
+        if (mMessageTextView != null) {
+
+            mMessageTextView.setTextSize(TypedValue.COMPLEX_UNIT_PX, textSize);
+
+        }
 
     }
 
@@ -409,7 +443,7 @@ public class SuperActivityToast {
      */
     public float getTextSize() {
 
-        return mMessageTextView.getTextSize();
+        return mTextSize > 0 ? mTextSize : getTextView().getTextSize();
 
     }
 
@@ -468,25 +502,9 @@ public class SuperActivityToast {
         this.mIcon = iconResource;
         this.mIconPosition = iconPosition;
 
-        if (iconPosition == IconPosition.BOTTOM) {
-
-            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null, null,
-                    null, mActivity.getResources().getDrawable(iconResource));
-
-        } else if (iconPosition == IconPosition.LEFT) {
-
-            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(mActivity.getResources()
-                    .getDrawable(iconResource), null, null, null);
+        if (mMessageTextView != null) {
 
-        } else if (iconPosition == IconPosition.RIGHT) {
-
-            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null, null,
-                    mActivity.getResources().getDrawable(iconResource), null);
-
-        } else if (iconPosition == IconPosition.TOP) {
-
-            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null,
-                    mActivity.getResources().getDrawable(iconResource), null, null);
+            this.updateIcon();
 
         }
 
@@ -523,7 +541,11 @@ public class SuperActivityToast {
 
         this.mBackground = background;
 
-        mRootLayout.setBackgroundResource(background);
+        if (mRootLayout != null) {
+
+            mRootLayout.setBackgroundResource(background);
+
+        }
 
     }
 
@@ -590,13 +612,9 @@ public class SuperActivityToast {
 
         this.mIsTouchDismissible = touchDismiss;
 
-        if (touchDismiss) {
-
-            mToastView.setOnTouchListener(mTouchDismissListener);
-
-        } else {
+        if (mToastView != null) {
 
-            mToastView.setOnTouchListener(null);
+            mToastView.setOnTouchListener(touchDismiss ? mTouchDismissListener : null);
 
         }
 
@@ -647,6 +665,14 @@ public class SuperActivityToast {
      */
     public void dismiss() {
 
+        if (!MainThreadQueue.isMainThread()) {
+
+            MainThreadQueue.getInstance().execute(mDismissRunnable);
+
+            return;
+
+        }
+
         ManagerSuperActivityToast.getInstance().removeSuperToast(this);
 
     }
@@ -729,8 +755,7 @@ public class SuperActivityToast {
 
         if (mButton != null) {
 
-            mButton.setCompoundDrawablesWithIntrinsicBounds(mActivity
-                    .getResources().getDrawable(buttonIcon), null, null, null);
+            mButton.setCompoundDrawablesWithIntrinsicBounds(mResources.getDrawable(buttonIcon), null, null, null);
 
         }
 
@@ -752,11 +777,11 @@ public class SuperActivityToast {
         }
 
         this.mButtonIcon = buttonIcon;
+        this.mButtonText = buttonText;
 
         if (mButton != null) {
 
-            mButton.setCompoundDrawablesWithIntrinsicBounds(mActivity
-                    .getResources().getDrawable(buttonIcon), null, null, null);
+            mButton.setCompoundDrawablesWithIntrinsicBounds(mResources.getDrawable(buttonIcon), null, null, null);
 
             mButton.setText(buttonText);
 
@@ -791,6 +816,7 @@ public class SuperActivityToast {
         }
 
         this.mDividerColor = dividerColor;
+        this.mIsDividerColorSet = true;
 
         if (mDividerView != null) {
 
@@ -826,6 +852,8 @@ public class SuperActivityToast {
 
         }
 
+        this.mButtonText = buttonText;
+
         if (mButton != null) {
 
             mButton.setText(buttonText);
@@ -842,9 +870,9 @@ public class SuperActivityToast {
      */
     public CharSequence getButtonText() {
 
-        if(mButton != null) {
+        if (mType == Type.BUTTON) {
 
-            return mButton.getText();
+            return mButtonText != null ? mButtonText : getButtonView().getText();
 
         } else {
 
@@ -870,9 +898,9 @@ public class SuperActivityToast {
 
         }
 
-        if (mButton != null) {
+        mButtonTypefaceStyle = typefaceStyle;
 
-            mButtonTypefaceStyle = typefaceStyle;
+        if (mButton != null) {
 
             mButton.setTypeface(mButton.getTypeface(), typefaceStyle);
 
@@ -906,6 +934,8 @@ public class SuperActivityToast {
 
         }
 
+        this.mButtonTextColor = buttonTextColor;
+
         if (mButton != null) {
 
             mButton.setTextColor(buttonTextColor);
@@ -922,9 +952,9 @@ public class SuperActivityToast {
      */
     public int getButtonTextColor() {
 
-        if(mButton != null) {
+        if (mType == Type.BUTTON) {
 
-            return mButton.getCurrentTextColor();
+            return mButton != null ? mButton.getCurrentTextColor() : mButtonTextColor;
 
         } else {
 
@@ -950,11 +980,8 @@ public class SuperActivityToast {
 
         }
 
-        if (mButton != null) {
-
-            mButton.setTextSize(buttonTextSize);
-
-        }
+        this.setButtonTextSizeFloat(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
+                buttonTextSize, mResources.getDisplayMetrics()));
 
     }
 
@@ -963,7 +990,13 @@ public class SuperActivityToast {
      */
     private void setButtonTextSizeFloat(float buttonTextSize) {
 
-        mButton.setTextSize(TypedValue.COMPLEX_UNIT_PX, buttonTextSize);
+        this.mButtonTextSize = buttonTextSize;
+
+        if (mButton != null) {
+
+            mButton.setTextSize(TypedValue.COMPLEX_UNIT_PX, buttonTextSize);
+
+        }
 
     }
 
@@ -975,9 +1008,9 @@ public class SuperActivityToast {
      */
     public float getButtonTextSize() {
 
-        if(mButton != null) {
+        if (mType == Type.BUTTON) {
 
-            return mButton.getTextSize();
+            return mButtonTextSize > 0 ? mButtonTextSize : getButtonView().getTextSize();
 
         } else {
 
@@ -992,6 +1025,7 @@ public class SuperActivityToast {
     /**
      * Sets the progress of the progressbar in a PROGRESS_HORIZONTAL
      * {@link com.github.johnpersano.supertoasts.SuperToast.Type} {@value #TAG}.
+     * This can be called from any thread, the progressbar is updated once per frame.
      *
      * @param progress int
      */
@@ -1003,11 +1037,8 @@ public class SuperActivityToast {
 
         }
 
-        if (mProgressBar != null) {
-
-            mProgressBar.setProgress(progress);
-
-        }
+        /* Applied once per frame no matter how often the progress changes */
+        mProgressSink.setProgress(progress);
 
     }
 
@@ -1019,9 +1050,9 @@ public class SuperActivityToast {
      */
     public int getProgress() {
 
-        if(mProgressBar != null) {
+        if (mType == Type.PROGRESS_HORIZONTAL || mType == Type.PROGRESS) {
 
-            return mProgressBar.getProgress();
+            return mProgressSink.getProgress();
 
         } else {
 
@@ -1047,6 +1078,8 @@ public class SuperActivityToast {
 
         }
 
+        this.mMaxProgress = maxProgress;
+
         if (mProgressBar != null) {
 
             mProgressBar.setMax(maxProgress);
@@ -1063,9 +1096,9 @@ public class SuperActivityToast {
      */
     public int getMaxProgress() {
 
-        if(mProgressBar != null) {
+        if (mType == Type.PROGRESS_HORIZONTAL || mType == Type.PROGRESS) {
 
-            return mProgressBar.getMax();
+            return mProgressBar != null ? mProgressBar.getMax() : mMaxProgress;
 
         } else {
 
@@ -1120,6 +1153,8 @@ public class SuperActivityToast {
      */
     public TextView getTextView() {
 
+        this.inflateView();
+
         return mMessageTextView;
 
     }
@@ -1131,6 +1166,17 @@ public class SuperActivityToast {
      */
     public View getView() {
 
+        this.inflateView();
+
+        return mToastView;
+
+    }
+
+    /**
+     * Used by {@value #MANAGER_TAG} to get the view without inflating it.
+     */
+    View getViewIfInflated() {
+
         return mToastView;
 
     }
@@ -1142,7 +1188,7 @@ public class SuperActivityToast {
      */
     public boolean isShowing() {
 
-        return mToastView != null && mToastView.isShown();
+        return mToastView != null && mToastView.isShown() && !mIsDismissing;
 
     }
 
@@ -1153,7 +1199,7 @@ public class SuperActivityToast {
      */
     public Activity getActivity() {
 
-        return mActivity;
+        return mActivity.get();
 
     }
 
@@ -1164,18 +1210,250 @@ public class SuperActivityToast {
      */
     public ViewGroup getViewGroup() {
 
-        return mViewGroup;
+        return mViewGroup.get();
 
     }
 
     /**
-     * Returns the LinearLayout that the {@value #TAG} is attached to.
-     *
-     * @return {@link android.widget.LinearLayout}
+     * Used by {@value #MANAGER_TAG} to mark the {@value #TAG} as not showing while
+     * its dismiss animation runs.
+     */
+    void setDismissing(boolean dismissing) {
+
+        this.mIsDismissing = dismissing;
+
+    }
+
+    /**
+     * Used by {@value #MANAGER_TAG} to return the view of a dismissed {@value #TAG}
+     * to the view pool.
+     */
+    void recycleView() {
+
+        if (mToastView != null) {
+
+            ToastViewPool.getInstance().recycle(getActivity(), mLayoutResource, mToastView);
+
+            mToastView = null;
+            mRootLayout = null;
+            mMessageTextView = null;
+            mButton = null;
+            mDividerView = null;
+            mProgressBar = null;
+
+        }
+
+    }
+
+    /**
+     * Returns the button of a BUTTON type {@value #TAG}, inflating the view if needed.
+     */
+    private Button getButtonView() {
+
+        this.inflateView();
+
+        return mButton;
+
+    }
+
+    /**
+     * Private method used to inflate the {@value #TAG} view the first time it is needed.
+     * Attributes that were set before the view existed are applied here.
+     */
+    private void inflateView() {
+
+        if (mToastView != null) {
+
+            return;
+
+        }
+
+        mLayoutResource = getLayoutResource(mType);
+
+        mToastView = ToastViewPool.getInstance().obtain(getActivity(),
+                mLayoutResource, getViewGroup());
+
+        final ToastViewPool.ViewHolder viewHolder = ToastViewPool.getViewHolder(mToastView);
+
+        mRootLayout = viewHolder.mRootLayout;
+        mMessageTextView = viewHolder.mMessageTextView;
+        mButton = viewHolder.mButton;
+        mDividerView = viewHolder.mDividerView;
+        mProgressBar = viewHolder.mProgressBar;
+
+        if (mButton != null) {
+
+            mButton.setOnClickListener(mButtonListener);
+
+        }
+
+        if (mText != null) {
+
+            mMessageTextView.setText(mText);
+
+        }
+
+        mMessageTextView.setTypeface(mMessageTextView.getTypeface(), mTypefaceStyle);
+        mMessageTextView.setTextColor(mTextColor);
+
+        if (mTextSize > 0) {
+
+            mMessageTextView.setTextSize(TypedValue.COMPLEX_UNIT_PX, mTextSize);
+
+        }
+
+        if (mIcon != 0 && mIconPosition != null) {
+
+            this.updateIcon();
+
+        }
+
+        mRootLayout.setBackgroundResource(mBackground);
+
+        /* Applied on every inflation since the view can be recycled while the SuperActivityToast is pending */
+        if (mRootLayoutParams != null) {
+
+            mRootLayout.setLayoutParams(mRootLayoutParams);
+
+        }
+
+        if (mOnExpandListener != null) {
+
+            mToastView.setOnTouchListener(mExpandTouchListener);
+
+        } else if (mIsTouchDismissible) {
+
+            mToastView.setOnTouchListener(mTouchDismissListener);
+
+        }
+
+        if (mButton != null) {
+
+            mButton.setCompoundDrawablesWithIntrinsicBounds(mResources.getDrawable(mButtonIcon), null, null, null);
+            mButton.setTypeface(mButton.getTypeface(), mButtonTypefaceStyle);
+            mButton.setTextColor(mButtonTextColor);
+
+            if (mButtonText != null) {
+
+                mButton.setText(mButtonText);
+
+            }
+
+            if (mButtonTextSize > 0) {
+
+                mButton.setTextSize(TypedValue.COMPLEX_UNIT_PX, mButtonTextSize);
+
+            }
+
+            if (mIsDividerColorSet) {
+
+                mDividerView.setBackgroundColor(mDividerColor);
+
+            }
+
+        }
+
+        if (mProgressBar != null) {
+
+            mProgressBar.setMax(mMaxProgress);
+            mProgressBar.setProgress(mProgressSink.getProgress());
+            mProgressBar.setIndeterminate(isProgressIndeterminate);
+
+        }
+
+    }
+
+    /**
+     * Private method used to return the layout resource of a {@link com.github.johnpersano.supertoasts.SuperToast.Type}
+     */
+    private static int getLayoutResource(Type type) {
+
+        if (type == Type.BUTTON) {
+
+            return R.layout.superactivitytoast_button;
+
+        } else if (type == Type.PROGRESS) {
+
+            return R.layout.superactivitytoast_progresscircle;
+
+        } else if (type == Type.PROGRESS_HORIZONTAL) {
+
+            return R.layout.superactivitytoast_progresshorizontal;
+
+        } else {
+
+            return R.layout.supertoast;
+
+        }
+
+    }
+
+    /**
+     * Private method used to apply the icon resource to the message textview
+     */
+    private void updateIcon() {
+
+        if (mIconPosition == IconPosition.BOTTOM) {
+
+            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null, null,
+                    null, mResources.getDrawable(mIcon));
+
+        } else if (mIconPosition == IconPosition.LEFT) {
+
+            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(mResources
+                    .getDrawable(mIcon), null, null, null);
+
+        } else if (mIconPosition == IconPosition.RIGHT) {
+
+            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null, null,
+                    mResources.getDrawable(mIcon), null);
+
+        } else if (mIconPosition == IconPosition.TOP) {
+
+            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null,
+                    mResources.getDrawable(mIcon), null, null);
+
+        }
+
+    }
+
+    /**
+     * Used by {@value #MANAGER_TAG} to make a digest summary expandable. Must be called before
+     * the view is inflated.
      */
-    private LinearLayout getRootLayout(){
+    void setOnExpandListener(SuperToast.OnExpandListener onExpandListener, List<CharSequence> messages) {
 
-        return mRootLayout;
+        this.mOnExpandListener = onExpandListener;
+        this.mExpandMessages = messages;
+
+    }
+
+    /**
+     * Private method used to copy the values that change between updates from another
+     * {@value #TAG} without inflating or animating the view again.
+     */
+    private void updateFrom(SuperActivityToast superActivityToast) {
+
+        if (superActivityToast.mText != null) {
+
+            this.setText(superActivityToast.mText);
+
+        }
+
+        if (superActivityToast.mIcon != 0 && superActivityToast.mIconPosition != null) {
+
+            this.setIcon(superActivityToast.mIcon, superActivityToast.mIconPosition);
+
+        }
+
+        if (mType == Type.PROGRESS_HORIZONTAL && superActivityToast.mType == Type.PROGRESS_HORIZONTAL) {
+
+            this.setProgress(superActivityToast.mProgressSink.getProgress());
+
+        }
+
+        this.mDuration = superActivityToast.mDuration;
+        this.mIsIndeterminate = superActivityToast.mIsIndeterminate;
 
     }
 
@@ -1198,6 +1476,52 @@ public class SuperActivityToast {
 
     }
 
+    /**
+     * Runnable to show the {@value #TAG} from the main thread.
+     */
+    private final Runnable mShowRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+
+            show();
+
+        }
+
+    };
+
+    /**
+     * Runnable to dismiss the {@value #TAG} from the main thread.
+     */
+    private final Runnable mDismissRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+
+            dismiss();
+
+        }
+
+    };
+
+    /**
+     * Applies the latest progress to the progressbar once per frame.
+     */
+    private final ProgressSink mProgressSink = new ProgressSink(new ProgressSink.Target() {
+
+        @Override
+        public void onProgress(int progress) {
+
+            if (mProgressBar != null) {
+
+                mProgressBar.setProgress(progress);
+
+            }
+
+        }
+
+    });
+
     /**
      * Returns a standard {@value #TAG}.
      *
@@ -1259,6 +1583,38 @@ public class SuperActivityToast {
 
     }
 
+    /**
+     * Creates views for a type of {@value #TAG} while the main thread is idle so showing
+     * the first {@value #TAG}s of that type does not need to inflate a layout.
+     *
+     * @param activity {@link android.app.Activity}
+     * @param type     {@link com.github.johnpersano.supertoasts.SuperToast.Type}
+     * @param count    int
+     */
+    public static void prewarm(Activity activity, Type type, int count) {
+
+        if (activity == null) {
+
+            throw new IllegalArgumentException(TAG + ERROR_ACTIVITYNULL);
+
+        }
+
+        ViewGroup viewGroup = (ViewGroup) activity.findViewById(android.R.id.content);
+
+        if (viewGroup == null) {
+
+            /* Only used to create the same layout params as the content view */
+            viewGroup = new FrameLayout(activity);
+
+        }
+
+        ActivityLifecycleWatcher.register(activity);
+
+        ToastViewPool.getInstance().prewarm(activity, getLayoutResource(type),
+                viewGroup, count);
+
+    }
+
     /**
      * Dismisses and removes all pending/showing {@value #TAG}.
      */
@@ -1268,9 +1624,108 @@ public class SuperActivityToast {
 
     }
 
+    /**
+     * Cancels the showing/pending {@value #TAG} with the key. Returns true if one was found.
+     *
+     * @param key {@link String}
+     * @return boolean
+     */
+    public static boolean cancel(String key) {
+
+        return ManagerSuperActivityToast.getInstance().cancel(key);
+
+    }
+
+    /**
+     * Returns the showing/pending {@value #TAG} with the key or null.
+     *
+     * @param key {@link String}
+     * @return {@link com.github.johnpersano.supertoasts.SuperActivityToast}
+     */
+    public static SuperActivityToast find(String key) {
+
+        return ManagerSuperActivityToast.getInstance().find(key);
+
+    }
+
+    /**
+     * Replaces the pending {@value #TAG}s of an Activity with a single summary {@value #TAG}
+     * such as "12 new messages" when more than the threshold are pending. The optional
+     * listener receives the collapsed messages when the summary is tapped. A threshold of
+     * zero disables digests, the default.
+     *
+     * @param threshold        int
+     * @param onExpandListener {@link com.github.johnpersano.supertoasts.SuperToast.OnExpandListener}
+     */
+    public static void setDigestThreshold(int threshold, SuperToast.OnExpandListener onExpandListener) {
+
+        ManagerSuperActivityToast.getInstance().setDigestThreshold(threshold, onExpandListener);
+
+    }
+
+    /**
+     * Shows the {@value #TAG} with the key. If a {@value #TAG} with the same key is already
+     * showing/pending in the same Activity its text, icon, progress and duration are updated
+     * instead, the view is not inflated or animated again. The duration of a showing
+     * {@value #TAG} restarts. This can be called from any thread.
+     *
+     * @param key                {@link String}
+     * @param superActivityToast The {@value #TAG} that holds the new values
+     */
+    public static void showOrUpdate(final String key, final SuperActivityToast superActivityToast) {
+
+        if (!MainThreadQueue.isMainThread()) {
+
+            MainThreadQueue.getInstance().execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    showOrUpdate(key, superActivityToast);
+
+                }
+
+            });
+
+            return;
+
+        }
+
+        final SuperActivityToast queuedSuperActivityToast = ManagerSuperActivityToast
+                .getInstance().find(key);
+
+        if (queuedSuperActivityToast == null || queuedSuperActivityToast == superActivityToast
+                || queuedSuperActivityToast.getActivity() != superActivityToast.getActivity()) {
+
+            superActivityToast.setKey(key);
+            superActivityToast.show();
+
+        } else {
+
+            queuedSuperActivityToast.updateFrom(superActivityToast);
+
+            ManagerSuperActivityToast.getInstance().restartDuration(queuedSuperActivityToast);
+
+        }
+
+    }
+
+    /**
+     * Returns true if a {@value #TAG} with the key is showing or pending.
+     *
+     * @param key {@link String}
+     * @return boolean
+     */
+    public static boolean isQueued(String key) {
+
+        return ManagerSuperActivityToast.getInstance().find(key) != null;
+
+    }
+
     /**
      * Dismisses and removes all pending/showing {@value #TAG}
-     * for a specific activity.
+     * for a specific activity. This is done automatically when the
+     * activity is destroyed on API 14 and above.
      *
      * @param activity {@link android.app.Activity}
      */
@@ -1279,6 +1734,83 @@ public class SuperActivityToast {
         ManagerSuperActivityToast.getInstance()
                 .cancelAllSuperActivityToastsForActivity(activity);
 
+        ToastViewPool.getInstance().clear(activity);
+
+    }
+
+    /**
+     * Limits the amount of pending {@value #TAG}s. When the limit is reached the
+     * {@link com.github.johnpersano.supertoasts.SuperToast.OverflowPolicy} decides which
+     * {@value #TAG} is discarded. The queue is unbounded by default. The capacity
+     * must be at least one.
+     *
+     * @param capacity       int
+     * @param overflowPolicy {@link com.github.johnpersano.supertoasts.SuperToast.OverflowPolicy}
+     */
+    public static void setQueueCapacity(int capacity, SuperToast.OverflowPolicy overflowPolicy) {
+
+        ManagerSuperActivityToast.getInstance().setQueueCapacity(capacity, overflowPolicy);
+
+    }
+
+    /**
+     * Sets the maximum amount of {@value #TAG}s of an Activity that show at once. When more
+     * than one is allowed the {@value #TAG}s are stacked vertically at the bottom of the
+     * Activity and each one is dismissed at the end of its own duration. The default is one.
+     * A new maximum takes effect the next time a {@value #TAG} is shown or dismissed.
+     *
+     * @param maxVisible int
+     */
+    public static void setMaxVisible(int maxVisible) {
+
+        ManagerSuperActivityToast.getInstance().setMaxVisible(maxVisible);
+
+    }
+
+    /**
+     * Returns how many {@value #TAG}s have been discarded by a specific
+     * {@link com.github.johnpersano.supertoasts.SuperToast.OverflowPolicy}.
+     *
+     * @param overflowPolicy {@link com.github.johnpersano.supertoasts.SuperToast.OverflowPolicy}
+     *
+     * @return int
+     */
+    public static int getOverflowCount(SuperToast.OverflowPolicy overflowPolicy) {
+
+        return ManagerSuperActivityToast.getInstance().getOverflowCount(overflowPolicy);
+
+    }
+
+    /**
+     * Limits how often {@value #TAG}s can be added. Up to burst {@value #TAG}s can be
+     * added at once after which they are limited to permitsPerSecond. A rate of zero
+     * or less removes the rate limit.
+     *
+     * @param permitsPerSecond float
+     * @param burst            int
+     * @param rateLimitPolicy  {@link com.github.johnpersano.supertoasts.SuperToast.RateLimitPolicy}
+     */
+    public static void setRateLimit(float permitsPerSecond, int burst,
+                                    SuperToast.RateLimitPolicy rateLimitPolicy) {
+
+        ManagerSuperActivityToast.getInstance().setRateLimit(null, permitsPerSecond, burst, rateLimitPolicy);
+
+    }
+
+    /**
+     * Limits how often {@value #TAG}s with a specific tag can be added. This takes
+     * precedence over the global rate limit. A rate of zero or less removes the rate limit.
+     *
+     * @param tag              {@link String}
+     * @param permitsPerSecond float
+     * @param burst            int
+     * @param rateLimitPolicy  {@link com.github.johnpersano.supertoasts.SuperToast.RateLimitPolicy}
+     */
+    public static void setRateLimit(String tag, float permitsPerSecond, int burst,
+                                    SuperToast.RateLimitPolicy rateLimitPolicy) {
+
+        ManagerSuperActivityToast.getInstance().setRateLimit(tag, permitsPerSecond, burst, rateLimitPolicy);
+
     }
 
     /**
@@ -1298,6 +1830,9 @@ public class SuperActivityToast {
 
             list[i] = new ReferenceHolder(lister.get(i));
 
+            /* Pooled views of the Activity that is being recreated can not be reused */
+            ToastViewPool.getInstance().clear(lister.get(i).getActivity());
+
         }
 
         bundle.putParcelableArray(BUNDLE_TAG, list);
@@ -1401,7 +1936,7 @@ public class SuperActivityToast {
                 layoutParams.rightMargin = (int) activity.getResources().getDimension(R.dimen.buttontoast_x_padding);
                 layoutParams.leftMargin = (int) activity.getResources().getDimension(R.dimen.buttontoast_x_padding);
 
-                superActivityToast.getRootLayout().setLayoutParams(layoutParams);
+                superActivityToast.mRootLayoutParams = layoutParams;
 
             }
 
@@ -1473,6 +2008,33 @@ public class SuperActivityToast {
 
     }
 
+    /**
+     * Runs the expand callback of a digest summary when it is tapped and dismisses it.
+     */
+    private final OnTouchListener mExpandTouchListener = new OnTouchListener() {
+
+        @Override
+        public boolean onTouch(View view, MotionEvent motionEvent) {
+
+            if (motionEvent.getAction() == MotionEvent.ACTION_UP && mOnExpandListener != null) {
+
+                final SuperToast.OnExpandListener onExpandListener = mOnExpandListener;
+
+                /* Expand once even if more touch events arrive before the dismissal */
+                mOnExpandListener = null;
+
+                onExpandListener.onExpand(mExpandMessages);
+
+                dismiss();
+
+            }
+
+            return true;
+
+        }
+
+    };
+
     /* This OnTouchListener handles the setTouchToDismiss() function */
     private OnTouchListener mTouchDismissListener = new OnTouchListener() {
 
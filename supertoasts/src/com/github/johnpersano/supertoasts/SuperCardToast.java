@@ -17,23 +17,18 @@
 
 package com.github.johnpersano.supertoasts;
 
-import android.animation.Animator;
-import android.animation.AnimatorListenerAdapter;
-import android.animation.ValueAnimator;
-import android.annotation.SuppressLint;
 import android.app.Activity;
-import android.content.Context;
+import android.content.res.Resources;
 import android.graphics.Color;
 import android.graphics.Typeface;
 import android.os.*;
 import android.util.Log;
 import android.util.TypedValue;
-import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.View.OnTouchListener;
 import android.view.ViewGroup;
-import android.view.animation.*;
+import android.widget.AbsListView;
 import android.widget.Button;
 import android.widget.LinearLayout;
 import android.widget.ProgressBar;
@@ -43,6 +38,7 @@ import com.github.johnpersano.supertoasts.SuperToast.IconPosition;
 import com.github.johnpersano.supertoasts.SuperToast.Type;
 import com.github.johnpersano.supertoasts.util.*;
 
+import java.lang.ref.WeakReference;
 import java.util.LinkedList;
 
 /**
@@ -56,7 +52,7 @@ public class SuperCardToast {
     private static final String MANAGER_TAG = "SuperCardToast Manager";
 
     private static final String ERROR_ACTIVITYNULL = " - You cannot pass a null Activity as a parameter.";
-    private static final String ERROR_CONTAINERNULL = " - You must have a LinearLayout with the id of card_container in your layout!";
+    private static final String ERROR_CONTAINERNULL = " - You must have a LinearLayout or a SuperCardToastContainer with the id of card_container in your layout!";
     private static final String ERROR_VIEWCONTAINERNULL = " - Either the View or Container was null when trying to dismiss.";
     private static final String ERROR_NOTBUTTONTYPE = " is only compatible with BUTTON type SuperCardToasts.";
     private static final String ERROR_NOTPROGRESSHORIZONTALTYPE = " is only compatible with PROGRESS_HORIZONTAL type SuperCardToasts.";
@@ -66,34 +62,53 @@ public class SuperCardToast {
     /* Bundle tag with a hex as a string so it can't interfere with other tags in the bundle */
     private static final String BUNDLE_TAG = "0x532e432e542e";
 
-    private Activity mActivity;
+    /**
+     * Decides which {@value #TAG}s are dismissed by {@link #dismissAll(Predicate)}.
+     */
+    public interface Predicate {
+
+        public boolean apply(SuperCardToast superCardToast);
+
+    }
+
+    private WeakReference<Activity> mActivity;
+    private Resources mResources;
     private Animations mAnimations = Animations.FADE;
     private boolean mIsIndeterminate;
     private boolean mIsTouchDismissible;
     private boolean mIsSwipeDismissible;
     private boolean isProgressIndeterminate;
+    private boolean mIsDividerColorSet;
     private boolean showImmediate;
+    private boolean mIsShowPending;
     private Button mButton;
-    private Handler mHandler;
+    private CharSequence mButtonText;
+    private CharSequence mText;
+    private float mButtonTextSize;
+    private float mTextSize;
     private IconPosition mIconPosition;
     private int mDuration = SuperToast.Duration.SHORT;
     private int mIcon;
+    private int mLayoutResource;
     private int mBackground = (R.drawable.background_standard_gray);
     private int mTypeface = Typeface.NORMAL;
     private int mButtonTypefaceStyle = Typeface.BOLD;
     private int mButtonIcon = SuperToast.Icon.Dark.UNDO;
     private int mDividerColor = Color.DKGRAY;
-    private LayoutInflater mLayoutInflater;
+    private int mButtonTextColor;
+    private int mMaxProgress = 100;
+    private int mTextColor;
     private LinearLayout mRootLayout;
     private OnDismissWrapper mOnDismissWrapper;
     private OnClickWrapper mOnClickWrapper;
     private Parcelable mToken;
     private ProgressBar mProgressBar;
+    private String mKey;
     private String mOnClickWrapperTag;
     private String mOnDismissWrapperTag;
     private TextView mMessageTextView;
     private Type mType = Type.STANDARD;
-    private ViewGroup mViewGroup;
+    private WeakReference<ViewGroup> mViewGroup;
     private View mToastView;
     private View mDividerView;
 
@@ -112,29 +127,23 @@ public class SuperCardToast {
 
         }
 
-        this.mActivity = activity;
+        this.mActivity = new WeakReference<Activity>(activity);
+        this.mResources = activity.getResources();
         this.mType = Type.STANDARD;
 
-        mLayoutInflater = (LayoutInflater) activity
-                .getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-
-        mViewGroup = (LinearLayout) activity
+        final ViewGroup viewGroup = (ViewGroup) activity
                 .findViewById(R.id.card_container);
 
-        if (mViewGroup == null) {
+        if (viewGroup == null) {
 
             throw new IllegalArgumentException(TAG + ERROR_CONTAINERNULL);
 
         }
 
-        mToastView = mLayoutInflater
-                .inflate(R.layout.supercardtoast, mViewGroup, false);
-
-        mMessageTextView = (TextView)
-                mToastView.findViewById(R.id.message_textview);
+        mViewGroup = new WeakReference<ViewGroup>(viewGroup);
 
-        mRootLayout = (LinearLayout)
-                mToastView.findViewById(R.id.root_layout);
+        mTextColor = activity.getResources().getColor(R.color.white);
+        mButtonTextColor = activity.getResources().getColor(R.color.light_gray);
 
     }
 
@@ -153,29 +162,23 @@ public class SuperCardToast {
 
         }
 
-        this.mActivity = activity;
+        this.mActivity = new WeakReference<Activity>(activity);
+        this.mResources = activity.getResources();
         this.mType = Type.STANDARD;
 
-        mLayoutInflater = (LayoutInflater) activity
-                .getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-
-        mViewGroup = (LinearLayout) activity
+        final ViewGroup viewGroup = (ViewGroup) activity
                 .findViewById(R.id.card_container);
 
-        if (mViewGroup == null) {
+        if (viewGroup == null) {
 
             throw new IllegalArgumentException(TAG + ERROR_CONTAINERNULL);
 
         }
 
-        mToastView = mLayoutInflater
-                .inflate(R.layout.supercardtoast, mViewGroup, false);
-
-        mMessageTextView = (TextView)
-                mToastView.findViewById(R.id.message_textview);
+        mViewGroup = new WeakReference<ViewGroup>(viewGroup);
 
-        mRootLayout = (LinearLayout)
-                mToastView.findViewById(R.id.root_layout);
+        mTextColor = activity.getResources().getColor(R.color.white);
+        mButtonTextColor = activity.getResources().getColor(R.color.light_gray);
 
         this.setStyle(style);
 
@@ -196,61 +199,23 @@ public class SuperCardToast {
 
         }
 
-        this.mActivity = activity;
+        this.mActivity = new WeakReference<Activity>(activity);
+        this.mResources = activity.getResources();
         this.mType = type;
 
-        mLayoutInflater = (LayoutInflater) activity
-                .getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-
-        mViewGroup = (LinearLayout) activity
+        final ViewGroup viewGroup = (ViewGroup) activity
                 .findViewById(R.id.card_container);
 
-        if (mViewGroup == null) {
+        if (viewGroup == null) {
 
             throw new IllegalArgumentException(TAG + ERROR_CONTAINERNULL);
 
         }
 
-        if (type == Type.BUTTON) {
-
-            mToastView = mLayoutInflater
-                    .inflate(R.layout.supercardtoast_button, mViewGroup, false);
-
-            mButton = (Button)
-                    mToastView.findViewById(R.id.button);
-
-            mDividerView = mToastView.findViewById(R.id.divider);
-
-            mButton.setOnClickListener(mButtonListener);
-
-        } else if (type == Type.PROGRESS) {
-
-            mToastView = mLayoutInflater
-                    .inflate(R.layout.supercardtoast_progresscircle, mViewGroup, false);
-
-            mProgressBar = (ProgressBar)
-                    mToastView.findViewById(R.id.progress_bar);
-
-        } else if (type == Type.PROGRESS_HORIZONTAL) {
-
-            mToastView = mLayoutInflater
-                    .inflate(R.layout.supercardtoast_progresshorizontal, mViewGroup, false);
-
-            mProgressBar = (ProgressBar)
-                    mToastView.findViewById(R.id.progress_bar);
-
-        } else {
-
-            mToastView = mLayoutInflater
-                    .inflate(R.layout.supercardtoast, mViewGroup, false);
-
-        }
-
-        mMessageTextView = (TextView)
-                mToastView.findViewById(R.id.message_textview);
+        mViewGroup = new WeakReference<ViewGroup>(viewGroup);
 
-        mRootLayout = (LinearLayout)
-                mToastView.findViewById(R.id.root_layout);
+        mTextColor = activity.getResources().getColor(R.color.white);
+        mButtonTextColor = activity.getResources().getColor(R.color.light_gray);
 
     }
 
@@ -270,118 +235,110 @@ public class SuperCardToast {
 
         }
 
-        this.mActivity = activity;
+        this.mActivity = new WeakReference<Activity>(activity);
+        this.mResources = activity.getResources();
         this.mType = type;
 
-        mLayoutInflater = (LayoutInflater) activity
-                .getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-
-        mViewGroup = (LinearLayout) activity
+        final ViewGroup viewGroup = (ViewGroup) activity
                 .findViewById(R.id.card_container);
 
-        if (mViewGroup == null) {
+        if (viewGroup == null) {
 
             throw new IllegalArgumentException(TAG + ERROR_CONTAINERNULL);
 
         }
 
-        if (type == Type.BUTTON) {
+        mViewGroup = new WeakReference<ViewGroup>(viewGroup);
 
-            mToastView = mLayoutInflater
-                    .inflate(R.layout.supercardtoast_button, mViewGroup, false);
+        mTextColor = activity.getResources().getColor(R.color.white);
+        mButtonTextColor = activity.getResources().getColor(R.color.light_gray);
 
-            mButton = (Button)
-                    mToastView.findViewById(R.id.button);
+        this.setStyle(style);
 
-            mDividerView = mToastView.findViewById(R.id.divider);
+    }
 
-            mButton.setOnClickListener(mButtonListener);
+    /**
+     * Shows the {@value #TAG}. If another {@value #TAG} is showing than
+     * this one will be added underneath.
+     */
+    public void show() {
 
-        } else if (type == Type.PROGRESS) {
+        if (!MainThreadQueue.isMainThread()) {
 
-            mToastView = mLayoutInflater
-                    .inflate(R.layout.supercardtoast_progresscircle, mViewGroup, false);
+            MainThreadQueue.getInstance().execute(mShowRunnable);
 
-            mProgressBar = (ProgressBar)
-                    mToastView.findViewById(R.id.progress_bar);
+            return;
 
-        } else if (type == Type.PROGRESS_HORIZONTAL) {
+        }
 
-            mToastView = mLayoutInflater
-                    .inflate(R.layout.supercardtoast_progresshorizontal, mViewGroup, false);
+        final ViewGroup viewGroup = getViewGroup();
 
-            mProgressBar = (ProgressBar)
-                    mToastView.findViewById(R.id.progress_bar);
+        if (viewGroup == null) {
 
-        } else {
+            /* The Activity of the SuperCardToast is gone */
 
-            mToastView = mLayoutInflater
-                    .inflate(R.layout.supercardtoast, mViewGroup, false);
+            return;
 
         }
 
-        mMessageTextView = (TextView)
-                mToastView.findViewById(R.id.message_textview);
-
-        mRootLayout = (LinearLayout)
-                mToastView.findViewById(R.id.root_layout);
+        ActivityLifecycleWatcher.register(getActivity());
 
-        this.setStyle(style);
+        if (!ManagerSuperCardToast.getInstance().add(this)) {
 
-    }
+            /* The SuperCardToast was discarded by the overflow policy */
 
-    /**
-     * Shows the {@value #TAG}. If another {@value #TAG} is showing than
-     * this one will be added underneath.
-     */
-    public void show() {
+            return;
 
-        ManagerSuperCardToast.getInstance().add(this);
+        }
 
         if (!mIsIndeterminate) {
 
-            mHandler = new Handler();
-            mHandler.postDelayed(mHideRunnable, mDuration);
+            TimerWheel.getInstance().schedule(mHideRunnable, mDuration);
 
         }
 
-        mViewGroup.addView(mToastView);
-
-        if (!showImmediate) {
+        if (viewGroup instanceof SuperCardToastContainer) {
 
-            final Animation animation = this.getShowAnimation();
+            /* The container creates the view when the SuperCardToast scrolls on screen */
+            mIsShowPending = true;
 
-            /* Invalidate the ViewGroup after the show animation completes **/
-            animation.setAnimationListener(new Animation.AnimationListener() {
+            ((SuperCardToastContainer) viewGroup).add(this);
 
-                @Override
-                public void onAnimationEnd(Animation arg0) {
+        } else {
 
-                    /* Must use Handler to modify ViewGroup in onAnimationEnd() **/
-                    Handler mHandler = new Handler();
-                    mHandler.post(mInvalidateRunnable);
+            viewGroup.addView(getView());
 
-                }
+            if (!showImmediate) {
 
-                @Override
-                public void onAnimationRepeat(Animation arg0) {
+                /* Invalidate the ViewGroup after the show animation completes **/
+                ToastAnimations.animateShow(mToastView, mAnimations, mInvalidateRunnable);
 
-                    /* Do nothing */
+            }
 
-                }
+        }
 
-                @Override
-                public void onAnimationStart(Animation arg0) {
+    }
 
-                    /* Do nothing */
+    /**
+     * Sets a key to the {@value #TAG}. A {@value #TAG} with a key can be found or
+     * dismissed while it is showing, see {@link #cancel(String)}.
+     *
+     * @param key {@link String}
+     */
+    public void setKey(String key) {
 
-                }
+        this.mKey = key;
 
-            });
+    }
 
-            mToastView.startAnimation(animation);
+    /**
+     * Returns the key of the {@value #TAG}.
+     *
+     * @return {@link String}
+     */
+    public String getKey() {
 
-        }
+        return this.mKey;
 
     }
 
@@ -401,9 +358,32 @@ public class SuperCardToast {
      *
      * @param text {@link CharSequence}
      */
-    public void setText(CharSequence text) {
+    public void setText(final CharSequence text) {
+
+        if (!MainThreadQueue.isMainThread()) {
+
+            MainThreadQueue.getInstance().execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    setText(text);
+
+                }
+
+            });
+
+            return;
 
-        mMessageTextView.setText(text);
+        }
+
+        this.mText = text;
+
+        if (mMessageTextView != null) {
+
+            mMessageTextView.setText(text);
+
+        }
 
     }
 
@@ -414,7 +394,7 @@ public class SuperCardToast {
      */
     public CharSequence getText() {
 
-        return mMessageTextView.getText();
+        return mText != null ? mText : getTextView().getText();
 
     }
 
@@ -427,7 +407,11 @@ public class SuperCardToast {
 
         mTypeface = typeface;
 
-        mMessageTextView.setTypeface(mMessageTextView.getTypeface(), typeface);
+        if (mMessageTextView != null) {
+
+            mMessageTextView.setTypeface(mMessageTextView.getTypeface(), typeface);
+
+        }
 
     }
 
@@ -449,7 +433,13 @@ public class SuperCardToast {
      */
     public void setTextColor(int textColor) {
 
-        mMessageTextView.setTextColor(textColor);
+        this.mTextColor = textColor;
+
+        if (mMessageTextView != null) {
+
+            mMessageTextView.setTextColor(textColor);
+
+        }
 
     }
 
@@ -460,7 +450,7 @@ public class SuperCardToast {
      */
     public int getTextColor() {
 
-        return mMessageTextView.getCurrentTextColor();
+        return mMessageTextView != null ? mMessageTextView.getCurrentTextColor() : mTextColor;
 
     }
 
@@ -471,7 +461,8 @@ public class SuperCardToast {
      */
     public void setTextSize(int textSize) {
 
-        mMessageTextView.setTextSize(textSize);
+        this.setTextSizeFloat(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
+                textSize, mResources.getDisplayMetrics()));
 
     }
 
@@ -480,7 +471,13 @@ public class SuperCardToast {
      */
     private void setTextSizeFloat(float textSize) {
 
-        mMessageTextView.setTextSize(TypedValue.COMPLEX_UNIT_PX, textSize);
+        this.mTextSize = textSize;
+
+        if (mMessageTextView != null) {
+
+            mMessageTextView.setTextSize(TypedValue.COMPLEX_UNIT_PX, textSize);
+
+        }
 
     }
 
@@ -491,7 +488,7 @@ public class SuperCardToast {
      */
     public float getTextSize() {
 
-        return mMessageTextView.getTextSize();
+        return mTextSize > 0 ? mTextSize : getTextView().getTextSize();
 
     }
 
@@ -550,25 +547,9 @@ public class SuperCardToast {
         this.mIcon = icon;
         this.mIconPosition = iconPosition;
 
-        if (iconPosition == IconPosition.BOTTOM) {
-
-            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null, null,
-                    null, mActivity.getResources().getDrawable(icon));
-
-        } else if (iconPosition == IconPosition.LEFT) {
-
-            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(mActivity.getResources()
-                    .getDrawable(icon), null, null, null);
-
-        } else if (iconPosition == IconPosition.RIGHT) {
-
-            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null, null,
-                    mActivity.getResources().getDrawable(icon), null);
-
-        } else if (iconPosition == IconPosition.TOP) {
+        if (mMessageTextView != null) {
 
-            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null,
-                    mActivity.getResources().getDrawable(icon), null, null);
+            this.updateIcon();
 
         }
 
@@ -606,7 +587,11 @@ public class SuperCardToast {
 
         this.mBackground = checkForKitKatBackgrounds(background);
 
-        mRootLayout.setBackgroundResource(mBackground);
+        if (mRootLayout != null) {
+
+            mRootLayout.setBackgroundResource(mBackground);
+
+        }
 
     }
 
@@ -720,13 +705,9 @@ public class SuperCardToast {
 
         this.mIsTouchDismissible = touchDismiss;
 
-        if (touchDismiss) {
-
-            mToastView.setOnTouchListener(mTouchDismissListener);
-
-        } else {
+        if (mToastView != null) {
 
-            mToastView.setOnTouchListener(null);
+            mToastView.setOnTouchListener(touchDismiss ? mTouchDismissListener : null);
 
         }
 
@@ -752,33 +733,15 @@ public class SuperCardToast {
 
         this.mIsSwipeDismissible = swipeDismiss;
 
-        if (swipeDismiss) {
-
-            if (Build.VERSION.SDK_INT > Build.VERSION_CODES.HONEYCOMB_MR1) {
-
-                final SwipeDismissListener swipeDismissListener = new SwipeDismissListener(
-                        mToastView, new SwipeDismissListener.OnDismissCallback() {
-
-                    @Override
-                    public void onDismiss(View view) {
-
-                        dismissImmediately();
-
-                    }
-
-                });
-
-                mToastView.setOnTouchListener(swipeDismissListener);
-
-            } else {
+        if (swipeDismiss && Build.VERSION.SDK_INT <= Build.VERSION_CODES.HONEYCOMB_MR1) {
 
-                Log.w(TAG, WARNING_PREHONEYCOMB);
+            Log.w(TAG, WARNING_PREHONEYCOMB);
 
-            }
+        }
 
-        } else {
+        if (mToastView != null) {
 
-            mToastView.setOnTouchListener(null);
+            this.updateSwipeToDismiss();
 
         }
 
@@ -831,8 +794,18 @@ public class SuperCardToast {
      */
     public void dismiss() {
 
+        if (!MainThreadQueue.isMainThread()) {
+
+            MainThreadQueue.getInstance().execute(mDismissRunnable);
+
+            return;
+
+        }
+
         ManagerSuperCardToast.getInstance().remove(this);
 
+        TimerWheel.getInstance().cancel(mHideRunnable);
+
         dismissWithAnimation();
 
     }
@@ -844,25 +817,31 @@ public class SuperCardToast {
 
         ManagerSuperCardToast.getInstance().remove(this);
 
-        if (mHandler != null) {
+        this.removeImmediately();
 
-            mHandler.removeCallbacks(mHideRunnable);
-            mHandler.removeCallbacks(mHideWithAnimationRunnable);
-            mHandler = null;
+    }
 
-        }
+    /**
+     * Used by {@value #MANAGER_TAG} to remove a {@value #TAG} that is no longer in its list.
+     */
+    void removeImmediately() {
+
+        this.cancelHideRunnables();
+
+        final ViewGroup viewGroup = getViewGroup();
 
-        if (mToastView != null && mViewGroup != null) {
+        if (viewGroup instanceof SuperCardToastContainer
+                || (mToastView != null && viewGroup != null)) {
 
-            mViewGroup.removeView(mToastView);
+            this.removeView();
 
             if (mOnDismissWrapper != null) {
 
-                mOnDismissWrapper.onDismiss(getView());
+                mOnDismissWrapper.onDismiss(mToastView);
 
             }
 
-            mToastView = null;
+            this.recycleView();
 
         } else {
 
@@ -873,52 +852,28 @@ public class SuperCardToast {
     }
 
     /**
-     * Hide the SuperCardToast and animate the Layout. Post Honeycomb only. *
+     * Hide the SuperCardToast and collapse the space it used. Post Honeycomb only. *
      */
-    @SuppressLint("NewApi")
-    private void dismissWithLayoutAnimation() {
+    private void dismissWithCollapseAnimation() {
 
         if (mToastView != null) {
 
-            mToastView.setVisibility(View.INVISIBLE);
-
-            final ViewGroup.LayoutParams layoutParams = mToastView.getLayoutParams();
-            final int originalHeight = mToastView.getHeight();
-
-            ValueAnimator animator = ValueAnimator.ofInt(originalHeight, 1)
-                    .setDuration(mActivity.getResources().getInteger(android.R.integer.config_shortAnimTime));
-
-            animator.addListener(new AnimatorListenerAdapter() {
+            final View toastView = mToastView;
 
-                @Override
-                public void onAnimationEnd(Animator animation) {
-
-                    Handler mHandler = new Handler();
-                    mHandler.post(mHideImmediateRunnable);
-
-                }
+            toastView.setVisibility(View.INVISIBLE);
 
-            });
+            final CollapseAnimator collapseAnimator = new CollapseAnimator(toastView,
+                    mResources.getInteger(android.R.integer.config_shortAnimTime));
 
-            animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            collapseAnimator.start(new Runnable() {
 
                 @Override
-                @SuppressWarnings("ConstantConditions")
-                public void onAnimationUpdate(ValueAnimator valueAnimator) {
-
-                    if (mToastView != null) {
-
-                        try {
-
-                            layoutParams.height = (Integer) valueAnimator.getAnimatedValue();
-                            mToastView.setLayoutParams(layoutParams);
+                public void run() {
 
-                        } catch (NullPointerException e) {
-
-                            /* Do nothing */
-
-                        }
+                    /* The SuperCardToast may have been removed during the collapse */
+                    if (mToastView == toastView) {
 
+                        dismissImmediately();
 
                     }
 
@@ -926,8 +881,6 @@ public class SuperCardToast {
 
             });
 
-            animator.start();
-
         } else {
 
             dismissImmediately();
@@ -936,52 +889,18 @@ public class SuperCardToast {
 
     }
 
-    @SuppressLint("NewApi")
-    @SuppressWarnings("deprecation")
     private void dismissWithAnimation() {
 
-        Animation animation = this.getDismissAnimation();
-
-        animation.setAnimationListener(new Animation.AnimationListener() {
-
-            @Override
-            public void onAnimationEnd(Animation animation) {
-
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
-
-                    /* Must use Handler to modify ViewGroup in onAnimationEnd() **/
-                    Handler handler = new Handler();
-                    handler.post(mHideWithAnimationRunnable);
-
-                } else {
-
-                    /* Must use Handler to modify ViewGroup in onAnimationEnd() **/
-                    Handler handler = new Handler();
-                    handler.post(mHideImmediateRunnable);
-
-                }
-
-            }
-
-            @Override
-            public void onAnimationRepeat(Animation animation) {
-
-                /* Do nothing */
-
-            }
-
-            @Override
-            public void onAnimationStart(Animation animation) {
-
-                /* Do nothing */
-
-            }
+        if (mToastView != null) {
 
-        });
+            ToastAnimations.animateDismiss(mToastView, mAnimations,
+                    Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB
+                            ? mHideWithAnimationRunnable : mHideImmediateRunnable);
 
-        if (mToastView != null) {
+        } else if (getViewGroup() instanceof SuperCardToastContainer) {
 
-            mToastView.startAnimation(animation);
+            /* The SuperCardToast is off screen so there is nothing to animate */
+            dismissImmediately();
 
         }
 
@@ -1065,8 +984,7 @@ public class SuperCardToast {
 
         if (mButton != null) {
 
-            mButton.setCompoundDrawablesWithIntrinsicBounds(mActivity
-                    .getResources().getDrawable(buttonIcon), null, null, null);
+            mButton.setCompoundDrawablesWithIntrinsicBounds(mResources.getDrawable(buttonIcon), null, null, null);
 
         }
 
@@ -1088,11 +1006,11 @@ public class SuperCardToast {
         }
 
         this.mButtonIcon = buttonIcon;
+        this.mButtonText = buttonText;
 
         if (mButton != null) {
 
-            mButton.setCompoundDrawablesWithIntrinsicBounds(mActivity
-                    .getResources().getDrawable(buttonIcon), null, null, null);
+            mButton.setCompoundDrawablesWithIntrinsicBounds(mResources.getDrawable(buttonIcon), null, null, null);
 
             mButton.setText(buttonText);
 
@@ -1127,6 +1045,7 @@ public class SuperCardToast {
         }
 
         this.mDividerColor = dividerColor;
+        this.mIsDividerColorSet = true;
 
         if (mDividerView != null) {
 
@@ -1162,6 +1081,8 @@ public class SuperCardToast {
 
         }
 
+        this.mButtonText = buttonText;
+
         if (mButton != null) {
 
             mButton.setText(buttonText);
@@ -1178,9 +1099,9 @@ public class SuperCardToast {
      */
     public CharSequence getButtonText() {
 
-        if(mButton != null) {
+        if (mType == Type.BUTTON) {
 
-            return mButton.getText();
+            return mButtonText != null ? mButtonText : getButtonView().getText();
 
         } else {
 
@@ -1206,9 +1127,9 @@ public class SuperCardToast {
 
         }
 
-        if (mButton != null) {
+        mButtonTypefaceStyle = typefaceStyle;
 
-            mButtonTypefaceStyle = typefaceStyle;
+        if (mButton != null) {
 
             mButton.setTypeface(mButton.getTypeface(), typefaceStyle);
 
@@ -1242,6 +1163,8 @@ public class SuperCardToast {
 
         }
 
+        this.mButtonTextColor = buttonTextColor;
+
         if (mButton != null) {
 
             mButton.setTextColor(buttonTextColor);
@@ -1258,9 +1181,9 @@ public class SuperCardToast {
      */
     public int getButtonTextColor() {
 
-        if(mButton != null) {
+        if (mType == Type.BUTTON) {
 
-            return mButton.getCurrentTextColor();
+            return mButton != null ? mButton.getCurrentTextColor() : mButtonTextColor;
 
         } else {
 
@@ -1286,11 +1209,8 @@ public class SuperCardToast {
 
         }
 
-        if (mButton != null) {
-
-            mButton.setTextSize(buttonTextSize);
-
-        }
+        this.setButtonTextSizeFloat(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
+                buttonTextSize, mResources.getDisplayMetrics()));
 
     }
 
@@ -1299,7 +1219,13 @@ public class SuperCardToast {
      */
     private void setButtonTextSizeFloat(float buttonTextSize) {
 
-        mButton.setTextSize(TypedValue.COMPLEX_UNIT_PX, buttonTextSize);
+        this.mButtonTextSize = buttonTextSize;
+
+        if (mButton != null) {
+
+            mButton.setTextSize(TypedValue.COMPLEX_UNIT_PX, buttonTextSize);
+
+        }
 
     }
 
@@ -1311,9 +1237,9 @@ public class SuperCardToast {
      */
     public float getButtonTextSize() {
 
-        if(mButton != null){
+        if (mType == Type.BUTTON) {
 
-            return mButton.getTextSize();
+            return mButtonTextSize > 0 ? mButtonTextSize : getButtonView().getTextSize();
 
         } else {
 
@@ -1328,6 +1254,7 @@ public class SuperCardToast {
     /**
      * Sets the progress of the progressbar in a PROGRESS_HORIZONTAL
      * {@link com.github.johnpersano.supertoasts.SuperToast.Type} {@value #TAG}.
+     * This can be called from any thread, the progressbar is updated once per frame.
      *
      * @param progress int
      */
@@ -1339,11 +1266,8 @@ public class SuperCardToast {
 
         }
 
-        if (mProgressBar != null) {
-
-            mProgressBar.setProgress(progress);
-
-        }
+        /* Applied once per frame no matter how often the progress changes */
+        mProgressSink.setProgress(progress);
 
     }
 
@@ -1355,9 +1279,9 @@ public class SuperCardToast {
      */
     public int getProgress() {
 
-        if(mProgressBar != null) {
+        if (mType == Type.PROGRESS_HORIZONTAL || mType == Type.PROGRESS) {
 
-            return mProgressBar.getProgress();
+            return mProgressSink.getProgress();
 
         } else {
 
@@ -1383,6 +1307,8 @@ public class SuperCardToast {
 
         }
 
+        this.mMaxProgress = maxProgress;
+
         if (mProgressBar != null) {
 
             mProgressBar.setMax(maxProgress);
@@ -1399,15 +1325,15 @@ public class SuperCardToast {
      */
     public int getMaxProgress() {
 
-        if(mProgressBar != null){
+        if (mType == Type.PROGRESS_HORIZONTAL || mType == Type.PROGRESS) {
 
-            return mProgressBar.getMax();
+            return mProgressBar != null ? mProgressBar.getMax() : mMaxProgress;
 
         } else {
 
             Log.e(TAG, "getMaxProgress()" + ERROR_NOTPROGRESSHORIZONTALTYPE);
 
-            return mProgressBar.getMax();
+            return 0;
 
         }
 
@@ -1456,6 +1382,8 @@ public class SuperCardToast {
      */
     public TextView getTextView() {
 
+        this.inflateView();
+
         return mMessageTextView;
 
     }
@@ -1467,244 +1395,509 @@ public class SuperCardToast {
      */
     public View getView() {
 
+        this.inflateView();
+
         return mToastView;
 
     }
 
     /**
-     * Returns true if the {@value #TAG} is showing.
-     *
-     * @return boolean
+     * Used by {@value #MANAGER_TAG} to return the view of a removed {@value #TAG}
+     * to the view pool.
      */
-    public boolean isShowing() {
+    void recycleView() {
 
-        return mToastView != null && mToastView.isShown();
+        if (mToastView != null) {
 
-    }
+            final ToastViewPool.ViewHolder viewHolder = ToastViewPool.getViewHolder(mToastView);
 
-    /**
-     * Returns the calling activity of the {@value #TAG}.
-     *
-     * @return {@link android.app.Activity}
-     */
-    public Activity getActivity() {
+            if (viewHolder.mOwner == this) {
 
-        return mActivity;
+                /* The view belongs to a SuperCardToastContainer that reuses it itself */
+                viewHolder.mOwner = null;
 
-    }
+            } else {
 
-    /**
-     * Returns the viewgroup that the {@value #TAG} is attached to.
-     *
-     * @return {@link android.view.ViewGroup}
-     */
-    public ViewGroup getViewGroup() {
+                ToastViewPool.getInstance().recycle(getActivity(), mLayoutResource, mToastView);
+
+            }
+
+            mToastView = null;
+            mRootLayout = null;
+            mMessageTextView = null;
+            mButton = null;
+            mDividerView = null;
+            mProgressBar = null;
 
-        return mViewGroup;
+        }
 
     }
 
     /**
-     * Private method used to set a default style to the {@value #TAG}
+     * Used by {@value #MANAGER_TAG} and {@link #dismissImmediately()} to take the
+     * {@value #TAG} out of its container without an animation.
      */
-    private void setStyle(Style style) {
+    void removeView() {
 
-        this.setAnimations(style.animations);
-        this.setTypefaceStyle(style.typefaceStyle);
-        this.setTextColor(style.textColor);
-        this.setBackground(style.background);
+        final ViewGroup viewGroup = getViewGroup();
 
-        if(this.mType == Type.BUTTON) {
+        if (viewGroup instanceof SuperCardToastContainer) {
 
-            this.setDividerColor(style.dividerColor);
-            this.setButtonTextColor(style.buttonTextColor);
+            mIsShowPending = false;
+
+            ((SuperCardToastContainer) viewGroup).remove(this);
+
+        } else if (viewGroup != null && mToastView != null
+                && mToastView.getParent() == viewGroup) {
+
+            viewGroup.removeView(mToastView);
 
         }
 
     }
 
     /**
-     * Runnable to dismiss the {@value #TAG} with animation.
+     * Used by SuperCardToastContainer to bind the {@value #TAG} to a row view. A convert
+     * view is taken from the {@value #TAG} it was bound to before.
      */
-    private final Runnable mHideRunnable = new Runnable() {
+    View bindView(View convertView) {
 
-        @Override
-        public void run() {
+        if (convertView != null && convertView == mToastView) {
 
-            dismiss();
+            return mToastView;
 
         }
 
-    };
+        this.recycleView();
+
+        mLayoutResource = getLayoutResource(mType);
+
+        View view = convertView;
+
+        if (view != null) {
+
+            final Object owner = ToastViewPool.getViewHolder(view).mOwner;
+
+            if (owner instanceof SuperCardToast && ((SuperCardToast) owner).mToastView == view) {
+
+                /* The previous SuperCardToast scrolled off screen */
+                ((SuperCardToast) owner).recycleView();
+
+            }
+
+            ToastViewPool.getViewHolder(view).reset();
+
+        } else {
+
+            view = ToastViewPool.getInstance().obtain(getActivity(),
+                    mLayoutResource, getViewGroup());
+
+            /* Views inflated for a LinearLayout container can not be used by a ListView */
+            if (!(view.getLayoutParams() instanceof AbsListView.LayoutParams)) {
+
+                view = ToastViewPool.getInstance().create(getActivity(),
+                        mLayoutResource, getViewGroup());
+
+            }
+
+        }
+
+        ToastViewPool.getViewHolder(view).mOwner = this;
+
+        this.attachView(view);
+
+        if (mIsShowPending) {
+
+            mIsShowPending = false;
+
+            if (!showImmediate) {
+
+                ToastAnimations.animateShow(mToastView, mAnimations, mInvalidateRunnable);
+
+            }
+
+        }
+
+        return mToastView;
+
+    }
 
     /**
-     * Runnable to dismiss the {@value #TAG} without animation.
+     * Returns the button of a BUTTON type {@value #TAG}, inflating the view if needed.
      */
-    private final Runnable mHideImmediateRunnable = new Runnable() {
+    private Button getButtonView() {
 
-        @Override
-        public void run() {
+        this.inflateView();
 
-            dismissImmediately();
+        return mButton;
+
+    }
+
+    /**
+     * Private method used to inflate the {@value #TAG} view the first time it is needed.
+     * Attributes that were set before the view existed are applied here.
+     */
+    private void inflateView() {
+
+        if (mToastView != null) {
+
+            return;
 
         }
 
-    };
+        mLayoutResource = getLayoutResource(mType);
+
+        this.attachView(ToastViewPool.getInstance().obtain(getActivity(),
+                mLayoutResource, getViewGroup()));
+
+    }
 
     /**
-     * Runnable to dismiss the {@value #TAG} with layout animation.
+     * Private method used to apply the attributes of the {@value #TAG} to a view.
      */
-    private final Runnable mHideWithAnimationRunnable = new Runnable() {
+    private void attachView(View view) {
 
-        @Override
-        public void run() {
+        mToastView = view;
 
-            dismissWithLayoutAnimation();
+        final ToastViewPool.ViewHolder viewHolder = ToastViewPool.getViewHolder(mToastView);
+
+        mRootLayout = viewHolder.mRootLayout;
+        mMessageTextView = viewHolder.mMessageTextView;
+        mButton = viewHolder.mButton;
+        mDividerView = viewHolder.mDividerView;
+        mProgressBar = viewHolder.mProgressBar;
+
+        if (mButton != null) {
+
+            mButton.setOnClickListener(mButtonListener);
 
         }
 
-    };
+        if (mText != null) {
+
+            mMessageTextView.setText(mText);
+
+        }
+
+        mMessageTextView.setTypeface(mMessageTextView.getTypeface(), mTypeface);
+        mMessageTextView.setTextColor(mTextColor);
+
+        if (mTextSize > 0) {
+
+            mMessageTextView.setTextSize(TypedValue.COMPLEX_UNIT_PX, mTextSize);
+
+        }
+
+        if (mIcon != 0 && mIconPosition != null) {
+
+            this.updateIcon();
+
+        }
+
+        mRootLayout.setBackgroundResource(mBackground);
+
+        if (mIsTouchDismissible) {
+
+            mToastView.setOnTouchListener(mTouchDismissListener);
+
+        } else if (mIsSwipeDismissible) {
+
+            this.updateSwipeToDismiss();
+
+        }
+
+        if (mButton != null) {
+
+            mButton.setCompoundDrawablesWithIntrinsicBounds(mResources.getDrawable(mButtonIcon), null, null, null);
+            mButton.setTypeface(mButton.getTypeface(), mButtonTypefaceStyle);
+            mButton.setTextColor(mButtonTextColor);
+
+            if (mButtonText != null) {
+
+                mButton.setText(mButtonText);
+
+            }
+
+            if (mButtonTextSize > 0) {
+
+                mButton.setTextSize(TypedValue.COMPLEX_UNIT_PX, mButtonTextSize);
+
+            }
+
+            if (mIsDividerColorSet) {
+
+                mDividerView.setBackgroundColor(mDividerColor);
+
+            }
+
+        }
+
+        if (mProgressBar != null) {
+
+            mProgressBar.setMax(mMaxProgress);
+            mProgressBar.setProgress(mProgressSink.getProgress());
+            mProgressBar.setIndeterminate(isProgressIndeterminate);
+
+        }
+
+    }
 
     /**
-     * Runnable to invalidate the layout containing the {@value #TAG}.
+     * Private method used to return the layout resource of a {@link com.github.johnpersano.supertoasts.SuperToast.Type}
      */
-    private final Runnable mInvalidateRunnable = new Runnable() {
+    private static int getLayoutResource(Type type) {
 
-        @Override
-        public void run() {
+        if (type == Type.BUTTON) {
 
-            if (mViewGroup != null) {
+            return R.layout.supercardtoast_button;
 
-                mViewGroup.postInvalidate();
+        } else if (type == Type.PROGRESS) {
 
-            }
+            return R.layout.supercardtoast_progresscircle;
+
+        } else if (type == Type.PROGRESS_HORIZONTAL) {
+
+            return R.layout.supercardtoast_progresshorizontal;
+
+        } else {
+
+            return R.layout.supercardtoast;
 
         }
 
-    };
+    }
+
+    /**
+     * Private method used to apply the icon resource to the message textview
+     */
+    private void updateIcon() {
+
+        if (mIconPosition == IconPosition.BOTTOM) {
+
+            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null, null,
+                    null, mResources.getDrawable(mIcon));
+
+        } else if (mIconPosition == IconPosition.LEFT) {
+
+            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(mResources
+                    .getDrawable(mIcon), null, null, null);
 
-    private Animation getShowAnimation() {
+        } else if (mIconPosition == IconPosition.RIGHT) {
 
-        if (this.getAnimations() == Animations.FLYIN) {
+            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null, null,
+                    mResources.getDrawable(mIcon), null);
 
-            TranslateAnimation translateAnimation = new TranslateAnimation(
-                    Animation.RELATIVE_TO_SELF, 0.75f, Animation.RELATIVE_TO_SELF, 0.0f,
-                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, 0.0f);
+        } else if (mIconPosition == IconPosition.TOP) {
 
-            AlphaAnimation alphaAnimation = new AlphaAnimation(0f, 1f);
+            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null,
+                    mResources.getDrawable(mIcon), null, null);
 
-            AnimationSet animationSet = new AnimationSet(true);
-            animationSet.addAnimation(translateAnimation);
-            animationSet.addAnimation(alphaAnimation);
-            animationSet.setInterpolator(new DecelerateInterpolator());
-            animationSet.setDuration(250);
+        }
 
-            return animationSet;
+    }
 
-        } else if (this.getAnimations() == Animations.SCALE) {
+    /**
+     * Private method used to apply the swipe to dismiss listener to the {@value #TAG} view
+     */
+    private void updateSwipeToDismiss() {
 
-            ScaleAnimation scaleAnimation = new ScaleAnimation(0.9f, 1.0f, 0.9f, 1.0f,
-                    Animation.RELATIVE_TO_SELF, 0.5f, Animation.RELATIVE_TO_SELF, 0.5f);
+        if (mIsSwipeDismissible) {
 
-            AlphaAnimation alphaAnimation = new AlphaAnimation(0f, 1f);
+            if (Build.VERSION.SDK_INT > Build.VERSION_CODES.HONEYCOMB_MR1) {
 
-            AnimationSet animationSet = new AnimationSet(true);
-            animationSet.addAnimation(scaleAnimation);
-            animationSet.addAnimation(alphaAnimation);
-            animationSet.setInterpolator(new DecelerateInterpolator());
-            animationSet.setDuration(250);
+                final SwipeDismissListener swipeDismissListener = new SwipeDismissListener(
+                        mToastView, new SwipeDismissListener.OnDismissCallback() {
 
-            return animationSet;
+                    @Override
+                    public void onDismiss(View view) {
 
-        } else if (this.getAnimations() == Animations.POPUP) {
+                        dismissImmediately();
 
-            TranslateAnimation translateAnimation = new TranslateAnimation(
-                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, 0.0f,
-                    Animation.RELATIVE_TO_SELF, 0.1f, Animation.RELATIVE_TO_SELF, 0.0f);
+                    }
 
-            AlphaAnimation alphaAnimation = new AlphaAnimation(0f, 1f);
+                });
 
-            AnimationSet animationSet = new AnimationSet(true);
-            animationSet.addAnimation(translateAnimation);
-            animationSet.addAnimation(alphaAnimation);
-            animationSet.setInterpolator(new DecelerateInterpolator());
-            animationSet.setDuration(250);
+                mToastView.setOnTouchListener(swipeDismissListener);
 
-            return animationSet;
+            }
 
         } else {
 
-            Animation animation = new AlphaAnimation(0f, 1f);
-            animation.setDuration(500);
-            animation.setInterpolator(new DecelerateInterpolator());
+            mToastView.setOnTouchListener(null);
+
+        }
+
+    }
+
+    /**
+     * Returns true if the {@value #TAG} is showing.
+     *
+     * @return boolean
+     */
+    public boolean isShowing() {
+
+        return mToastView != null && mToastView.isShown();
+
+    }
+
+    /**
+     * Returns the calling activity of the {@value #TAG}.
+     *
+     * @return {@link android.app.Activity}
+     */
+    public Activity getActivity() {
 
-            return animation;
+        return mActivity.get();
+
+    }
+
+    /**
+     * Returns the viewgroup that the {@value #TAG} is attached to.
+     *
+     * @return {@link android.view.ViewGroup}
+     */
+    public ViewGroup getViewGroup() {
+
+        return mViewGroup.get();
+
+    }
+
+    /**
+     * Private method used to set a default style to the {@value #TAG}
+     */
+    private void setStyle(Style style) {
+
+        this.setAnimations(style.animations);
+        this.setTypefaceStyle(style.typefaceStyle);
+        this.setTextColor(style.textColor);
+        this.setBackground(style.background);
+
+        if(this.mType == Type.BUTTON) {
+
+            this.setDividerColor(style.dividerColor);
+            this.setButtonTextColor(style.buttonTextColor);
 
         }
 
+    }
+
+    /**
+     * Used by {@value #MANAGER_TAG} to cancel the scheduled dismissal of a {@value #TAG}.
+     */
+    void cancelHideRunnables() {
+
+        TimerWheel.getInstance().cancel(mHideRunnable);
+        TimerWheel.getInstance().cancel(mHideWithAnimationRunnable);
 
     }
 
-    private Animation getDismissAnimation() {
+    /**
+     * Runnable to dismiss the {@value #TAG} with animation.
+     */
+    private final Runnable mHideRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+
+            dismiss();
+
+        }
+
+    };
+
+    /**
+     * Runnable to dismiss the {@value #TAG} without animation.
+     */
+    private final Runnable mHideImmediateRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+
+            dismissImmediately();
+
+        }
+
+    };
+
+    /**
+     * Runnable to dismiss the {@value #TAG} with a collapse animation.
+     */
+    private final Runnable mHideWithAnimationRunnable = new Runnable() {
 
-        if (this.getAnimations() == Animations.FLYIN) {
+        @Override
+        public void run() {
 
-            TranslateAnimation translateAnimation = new TranslateAnimation(
-                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, .75f,
-                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, 0.0f);
+            dismissWithCollapseAnimation();
 
-            AlphaAnimation alphaAnimation = new AlphaAnimation(1f, 0f);
+        }
+
+    };
+
+    /**
+     * Runnable to invalidate the layout containing the {@value #TAG}.
+     */
+    private final Runnable mInvalidateRunnable = new Runnable() {
 
-            AnimationSet animationSet = new AnimationSet(true);
-            animationSet.addAnimation(translateAnimation);
-            animationSet.addAnimation(alphaAnimation);
-            animationSet.setInterpolator(new AccelerateInterpolator());
-            animationSet.setDuration(250);
+        @Override
+        public void run() {
 
-            return animationSet;
+            final ViewGroup viewGroup = getViewGroup();
 
-        } else if (this.getAnimations() == Animations.SCALE) {
+            if (viewGroup != null) {
 
-            ScaleAnimation scaleAnimation = new ScaleAnimation(1.0f, 0.9f, 1.0f, 0.9f,
-                    Animation.RELATIVE_TO_SELF, 0.5f, Animation.RELATIVE_TO_SELF, 0.5f);
+                viewGroup.postInvalidate();
 
-            AlphaAnimation alphaAnimation = new AlphaAnimation(1f, 0f);
+            }
 
-            AnimationSet animationSet = new AnimationSet(true);
-            animationSet.addAnimation(scaleAnimation);
-            animationSet.addAnimation(alphaAnimation);
-            animationSet.setInterpolator(new DecelerateInterpolator());
-            animationSet.setDuration(250);
+        }
 
-            return animationSet;
+    };
 
-        } else if (this.getAnimations() == Animations.POPUP) {
+    /**
+     * Runnable to show the {@value #TAG} from the main thread.
+     */
+    private final Runnable mShowRunnable = new Runnable() {
 
-            TranslateAnimation translateAnimation = new TranslateAnimation(
-                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, 0.0f,
-                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, 0.1f);
+        @Override
+        public void run() {
 
-            AlphaAnimation alphaAnimation = new AlphaAnimation(1f, 0f);
+            show();
 
-            AnimationSet animationSet = new AnimationSet(true);
-            animationSet.addAnimation(translateAnimation);
-            animationSet.addAnimation(alphaAnimation);
-            animationSet.setInterpolator(new DecelerateInterpolator());
-            animationSet.setDuration(250);
+        }
 
-            return animationSet;
+    };
 
-        } else {
+    /**
+     * Runnable to dismiss the {@value #TAG} from the main thread.
+     */
+    private final Runnable mDismissRunnable = new Runnable() {
 
-            AlphaAnimation alphaAnimation = new AlphaAnimation(1f, 0f);
-            alphaAnimation.setDuration(500);
-            alphaAnimation.setInterpolator(new AccelerateInterpolator());
+        @Override
+        public void run() {
 
-            return alphaAnimation;
+            dismiss();
 
         }
 
-    }
+    };
+
+    /**
+     * Applies the latest progress to the progressbar once per frame.
+     */
+    private final ProgressSink mProgressSink = new ProgressSink(new ProgressSink.Target() {
+
+        @Override
+        public void onProgress(int progress) {
+
+            if (mProgressBar != null) {
+
+                mProgressBar.setProgress(progress);
+
+            }
+
+        }
+
+    });
 
     /**
      * Returns a standard {@value #TAG}.
@@ -1781,6 +1974,38 @@ public class SuperCardToast {
 
 
 
+    /**
+     * Creates views for a type of {@value #TAG} while the main thread is idle so showing
+     * the first {@value #TAG}s of that type does not need to inflate a layout.
+     *
+     * @param activity {@link android.app.Activity}
+     * @param type     {@link com.github.johnpersano.supertoasts.SuperToast.Type}
+     * @param count    int
+     */
+    public static void prewarm(Activity activity, Type type, int count) {
+
+        if (activity == null) {
+
+            throw new IllegalArgumentException(TAG + ERROR_ACTIVITYNULL);
+
+        }
+
+        ViewGroup viewGroup = (ViewGroup) activity.findViewById(R.id.card_container);
+
+        if (viewGroup == null) {
+
+            /* Only used to create the same layout params as the card container */
+            viewGroup = new LinearLayout(activity);
+
+        }
+
+        ActivityLifecycleWatcher.register(activity);
+
+        ToastViewPool.getInstance().prewarm(activity, getLayoutResource(type),
+                viewGroup, count);
+
+    }
+
     /**
      * Dismisses and removes all showing/pending SuperCardToasts.
      */
@@ -1790,6 +2015,97 @@ public class SuperCardToast {
 
     }
 
+    /**
+     * Dismisses the showing {@value #TAG} with the key. Returns true if one was found.
+     *
+     * @param key {@link String}
+     * @return boolean
+     */
+    public static boolean cancel(String key) {
+
+        return ManagerSuperCardToast.getInstance().cancel(key);
+
+    }
+
+    /**
+     * Returns the showing {@value #TAG} with the key or null.
+     *
+     * @param key {@link String}
+     * @return {@link com.github.johnpersano.supertoasts.SuperCardToast}
+     */
+    public static SuperCardToast find(String key) {
+
+        return ManagerSuperCardToast.getInstance().find(key);
+
+    }
+
+    /**
+     * Returns true if a {@value #TAG} with the key is showing.
+     *
+     * @param key {@link String}
+     * @return boolean
+     */
+    public static boolean isQueued(String key) {
+
+        return ManagerSuperCardToast.getInstance().find(key) != null;
+
+    }
+
+    /**
+     * Dismisses every {@value #TAG} the predicate applies to. The showing {@value #TAG}s
+     * are collapsed by a single animation and each container is laid out once when it ends.
+     *
+     * @param predicate {@link com.github.johnpersano.supertoasts.SuperCardToast.Predicate}
+     */
+    public static void dismissAll(Predicate predicate) {
+
+        ManagerSuperCardToast.getInstance().dismissAll(predicate);
+
+    }
+
+    /**
+     * Dismisses and removes all showing {@value #TAG}s for a specific activity.
+     * This is done automatically when the activity is destroyed on API 14 and above.
+     *
+     * @param activity {@link android.app.Activity}
+     */
+    public static void clearSuperCardToastsForActivity(Activity activity) {
+
+        ManagerSuperCardToast.getInstance().cancelAllSuperCardToastsForActivity(activity);
+
+        ToastViewPool.getInstance().clear(activity);
+
+    }
+
+    /**
+     * Limits the amount of {@value #TAG}s that can be shown at once. When the limit is
+     * reached the {@link com.github.johnpersano.supertoasts.SuperToast.OverflowPolicy}
+     * decides which {@value #TAG} is discarded. There is no limit by default. The capacity
+     * must be at least one.
+     *
+     * @param capacity       int
+     * @param overflowPolicy {@link com.github.johnpersano.supertoasts.SuperToast.OverflowPolicy}
+     */
+    public static void setQueueCapacity(int capacity, SuperToast.OverflowPolicy overflowPolicy) {
+
+        ManagerSuperCardToast.getInstance().setQueueCapacity(capacity, overflowPolicy);
+
+    }
+
+    /**
+     * Returns how many {@value #TAG}s have been discarded by a specific
+     * {@link com.github.johnpersano.supertoasts.SuperToast.OverflowPolicy}.
+     *
+     * @param overflowPolicy {@link com.github.johnpersano.supertoasts.SuperToast.OverflowPolicy}
+     *
+     * @return int
+     */
+    public static int getOverflowCount(SuperToast.OverflowPolicy overflowPolicy) {
+
+        return ManagerSuperCardToast.getInstance().getOverflowCount(overflowPolicy);
+
+    }
+
     /**
      * Saves pending/shown SuperCardToasts to a bundle.
      *
@@ -1807,6 +2123,9 @@ public class SuperCardToast {
 
             list[i] = new ReferenceHolder(lister.get(i));
 
+            /* Pooled views of the Activity that is being recreated can not be reused */
+            ToastViewPool.getInstance().clear(lister.get(i).getActivity());
+
         }
 
         bundle.putParcelableArray(BUNDLE_TAG, list);
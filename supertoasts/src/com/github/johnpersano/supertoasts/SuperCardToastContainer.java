@@ -0,0 +1,281 @@
+/**
+ *  Copyright 2014 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.github.johnpersano.supertoasts;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.ListView;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+
+/**
+ * A card container that only keeps views for the SuperCardToasts that are on screen.
+ * Use it in place of the LinearLayout with the id card_container when an Activity
+ * can show a large amount of SuperCardToasts. Views of cards that scroll off screen
+ * are reused for the cards that scroll on screen.
+ * <br>
+ * The SuperCardToast API is unchanged. SuperCardToasts still look up their container
+ * by the id card_container and switch to this container's behavior when the view
+ * with that id is a SuperCardToastContainer.
+ */
+public class SuperCardToastContainer extends ListView {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final String TAG = "SuperCardToastContainer";
+
+    private final CardAdapter mCardAdapter;
+
+    public SuperCardToastContainer(Context context) {
+
+        super(context);
+
+        mCardAdapter = new CardAdapter();
+
+        this.initialize();
+
+    }
+
+    public SuperCardToastContainer(Context context, AttributeSet attributeSet) {
+
+        super(context, attributeSet);
+
+        mCardAdapter = new CardAdapter();
+
+        this.initialize();
+
+    }
+
+    public SuperCardToastContainer(Context context, AttributeSet attributeSet, int defStyle) {
+
+        super(context, attributeSet, defStyle);
+
+        mCardAdapter = new CardAdapter();
+
+        this.initialize();
+
+    }
+
+    private void initialize() {
+
+        /* A ListView ignores the margin of the card layout so the same spacing is added here */
+        final int margin = getResources().getDimensionPixelSize(R.dimen.cardtoast_margin);
+
+        this.setPadding(margin, margin, margin, margin);
+        this.setClipToPadding(false);
+
+        /* Cards draw their own backgrounds and handle their own touches */
+        this.setDivider(new ColorDrawable(Color.TRANSPARENT));
+        this.setDividerHeight(2 * margin);
+        this.setSelector(android.R.color.transparent);
+        this.setCacheColorHint(Color.TRANSPARENT);
+        this.setItemsCanFocus(true);
+
+        this.setAdapter(mCardAdapter);
+
+    }
+
+    /**
+     * Returns the amount of SuperCardToasts in this container including the ones
+     * that are not on screen.
+     *
+     * @return int
+     */
+    public int getCardCount() {
+
+        return mCardAdapter.getCount();
+
+    }
+
+    /**
+     * Used by SuperCardToast to add itself to the end of the container.
+     */
+    void add(SuperCardToast superCardToast) {
+
+        if (mCardAdapter.add(superCardToast)) {
+
+            mCardAdapter.notifyDataSetChanged();
+
+        }
+
+    }
+
+    /**
+     * Used by SuperCardToast to remove itself from the container.
+     */
+    void remove(SuperCardToast superCardToast) {
+
+        if (mCardAdapter.remove(superCardToast)) {
+
+            mCardAdapter.notifyDataSetChanged();
+
+        }
+
+    }
+
+    /**
+     * Used by ManagerSuperCardToast to remove many SuperCardToasts in one pass with a single
+     * change notification. SuperCardToasts that are not in this container are ignored.
+     */
+    void removeAll(Collection<SuperCardToast> superCardToasts) {
+
+        if (mCardAdapter.removeAll(superCardToasts)) {
+
+            mCardAdapter.notifyDataSetChanged();
+
+        }
+
+    }
+
+    /* Adapter that binds a SuperCardToast to the row view it is given */
+    private static class CardAdapter extends BaseAdapter {
+
+        private final ArrayList<SuperCardToast> mSuperCardToasts;
+
+        /* Membership is checked in constant time, only a removal shifts the list */
+        private final HashSet<SuperCardToast> mSuperCardToastSet;
+
+        CardAdapter() {
+
+            mSuperCardToasts = new ArrayList<SuperCardToast>();
+            mSuperCardToastSet = new HashSet<SuperCardToast>();
+
+        }
+
+        boolean add(SuperCardToast superCardToast) {
+
+            if (mSuperCardToastSet.add(superCardToast)) {
+
+                mSuperCardToasts.add(superCardToast);
+
+                return true;
+
+            }
+
+            return false;
+
+        }
+
+        boolean remove(SuperCardToast superCardToast) {
+
+            if (mSuperCardToastSet.remove(superCardToast)) {
+
+                mSuperCardToasts.remove(superCardToast);
+
+                return true;
+
+            }
+
+            return false;
+
+        }
+
+        boolean removeAll(Collection<SuperCardToast> superCardToasts) {
+
+            /* A hashed copy keeps the removal linear whatever collection is given */
+            if (!mSuperCardToastSet.removeAll(new HashSet<SuperCardToast>(superCardToasts))) {
+
+                return false;
+
+            }
+
+            /* Rebuilt in one pass instead of shifting the list for every removal */
+            final ArrayList<SuperCardToast> remaining = new ArrayList<SuperCardToast>(mSuperCardToastSet.size());
+
+            for (SuperCardToast superCardToast : mSuperCardToasts) {
+
+                if (mSuperCardToastSet.contains(superCardToast)) {
+
+                    remaining.add(superCardToast);
+
+                }
+
+            }
+
+            mSuperCardToasts.clear();
+            mSuperCardToasts.addAll(remaining);
+
+            return true;
+
+        }
+
+        @Override
+        public int getCount() {
+
+            return mSuperCardToasts.size();
+
+        }
+
+        @Override
+        public SuperCardToast getItem(int position) {
+
+            return mSuperCardToasts.get(position);
+
+        }
+
+        @Override
+        public long getItemId(int position) {
+
+            return position;
+
+        }
+
+        @Override
+        public int getViewTypeCount() {
+
+            return SuperToast.Type.values().length;
+
+        }
+
+        @Override
+        public int getItemViewType(int position) {
+
+            return getItem(position).getType().ordinal();
+
+        }
+
+        @Override
+        public boolean areAllItemsEnabled() {
+
+            return false;
+
+        }
+
+        @Override
+        public boolean isEnabled(int position) {
+
+            return false;
+
+        }
+
+        @Override
+        public View getView(int position, View convertView, ViewGroup parent) {
+
+            return getItem(position).bindView(convertView);
+
+        }
+
+    }
+
+}
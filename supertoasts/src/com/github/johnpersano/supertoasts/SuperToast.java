@@ -20,15 +20,21 @@ package com.github.johnpersano.supertoasts;
 import android.content.Context;
 import android.graphics.PixelFormat;
 import android.os.Parcelable;
+import android.os.SystemClock;
+import android.text.TextUtils;
 import android.util.Log;
+import android.util.TypedValue;
 import android.view.Gravity;
-import android.view.LayoutInflater;
+import android.view.MotionEvent;
 import android.view.View;
+import android.view.View.OnTouchListener;
 import android.view.WindowManager;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 import com.github.johnpersano.supertoasts.util.Style;
 
+import java.util.List;
+
 /**
  * SuperToasts are designed to replace stock Android Toasts.
  * If you need to display a SuperToast inside of an Activity
@@ -40,6 +46,8 @@ public class SuperToast {
     private static final String TAG = "SuperToast";
 
     private static final String ERROR_CONTEXTNULL = " - You cannot use a null context.";
+    private static final String OCCURRENCES_FORMAT = " (\u00d7%d)";
+
     private static final String ERROR_DURATIONTOOLONG = " - You should NEVER specify a duration greater than " +
             "four and a half seconds for a SuperToast.";
 
@@ -65,6 +73,17 @@ public class SuperToast {
 
     }
 
+    /**
+     * Receives the messages that were collapsed into a digest summary when the summary
+     * is tapped. Can be used with SuperToasts and SuperActivityToasts, see
+     * {@link #setDigestThreshold(int, OnExpandListener)}.
+     */
+    public interface OnExpandListener {
+
+        public void onExpand(List<CharSequence> messages);
+
+    }
+
     /**
      * Backgrounds for all types of SuperToasts.
      */
@@ -211,16 +230,114 @@ public class SuperToast {
 
     }
 
+    /**
+     * Priority levels for SuperToasts. Pending SuperToasts with a higher priority
+     * are shown before pending SuperToasts with a lower priority. SuperToasts
+     * with the same priority are shown in the order they were added.
+     */
+    public enum Priority {
+
+        /**
+         * Low priority, shown after all other pending SuperToasts.
+         */
+        LOW,
+
+        /**
+         * Default priority.
+         */
+        NORMAL,
+
+        /**
+         * High priority, shown before NORMAL and LOW priority SuperToasts.
+         */
+        HIGH,
+
+        /**
+         * Critical priority, shown before all other pending SuperToasts.
+         */
+        CRITICAL
+
+    }
+
+    /**
+     * Policies used by all types of SuperToasts when a bounded queue is full.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Discard the SuperToast that is being added.
+         */
+        DROP_NEWEST,
+
+        /**
+         * Discard the oldest pending SuperToast to make room for the one being added.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Discard the pending SuperToast with the lowest priority if it has a lower
+         * priority than the one being added, otherwise discard the one being added.
+         */
+        REPLACE_LOWEST_PRIORITY,
+
+        /**
+         * Collapse all pending SuperToasts and the one being added into a single
+         * summary SuperToast.
+         */
+        COLLAPSE_INTO_SUMMARY
+
+    }
+
+    /**
+     * Policies used by SuperToasts and SuperActivityToasts that are added faster than
+     * their rate limit allows.
+     */
+    public enum RateLimitPolicy {
+
+        /**
+         * Hold the SuperToast and add it when the rate limit allows.
+         */
+        DEFER,
+
+        /**
+         * Discard the SuperToast.
+         */
+        DROP,
+
+        /**
+         * Discard the SuperToast and count it in a single digest SuperToast that is
+         * shown when the rate limit allows.
+         */
+        DIGEST
+
+    }
+
     private Animations mAnimations = Animations.FADE;
+    private CharSequence mText;
     private Context mContext;
+    private IconPosition mIconPosition;
     private int mGravity = Gravity.BOTTOM | Gravity.CENTER;
     private int mDuration = Duration.SHORT;
     private int mTypefaceStyle;
     private int mBackground;
+    private int mIconResource;
+    private int mTextColor;
+    private int mTextSize;
     private int mXOffset = 0;
     private int mYOffset = 0;
+    private int mOccurrences = 1;
+    private boolean mIsQueued;
+    private boolean mIsCancelled;
+    private long mQueueSequence;
+    private long mTimeToLive;
+    private long mShowTime;
     private LinearLayout mRootLayout;
     private OnDismissListener mOnDismissListener;
+    private OnExpandListener mOnExpandListener;
+    private List<CharSequence> mExpandMessages;
+    private Priority mPriority = Priority.NORMAL;
+    private String mKey;
+    private String mTag;
     private TextView mMessageTextView;
     private View mToastView;
     private WindowManager mWindowManager;
@@ -244,19 +361,10 @@ public class SuperToast {
         mYOffset = context.getResources().getDimensionPixelSize(
                 R.dimen.toast_hover);
 
-        final LayoutInflater layoutInflater = (LayoutInflater) context
-                .getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-
-        mToastView = layoutInflater.inflate(R.layout.supertoast, null);
+        mWindowManager = (WindowManager) context.getApplicationContext()
+                .getSystemService(Context.WINDOW_SERVICE);
 
-        mWindowManager = (WindowManager) mToastView.getContext()
-                .getApplicationContext().getSystemService(Context.WINDOW_SERVICE);
-
-        mRootLayout = (LinearLayout)
-                mToastView.findViewById(R.id.root_layout);
-
-        mMessageTextView = (TextView)
-                mToastView.findViewById(R.id.message_textview);
+        mTextColor = context.getResources().getColor(R.color.white);
 
     }
 
@@ -279,19 +387,10 @@ public class SuperToast {
         mYOffset = context.getResources().getDimensionPixelSize(
                 R.dimen.toast_hover);
 
-        final LayoutInflater layoutInflater = (LayoutInflater) context
-                .getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-
-        mToastView = layoutInflater.inflate(R.layout.supertoast, null);
+        mWindowManager = (WindowManager) context.getApplicationContext()
+                .getSystemService(Context.WINDOW_SERVICE);
 
-        mWindowManager = (WindowManager) mToastView.getContext()
-                .getApplicationContext().getSystemService(Context.WINDOW_SERVICE);
-
-        mRootLayout = (LinearLayout)
-                mToastView.findViewById(R.id.root_layout);
-
-        mMessageTextView = (TextView)
-                mToastView.findViewById(R.id.message_textview);
+        mTextColor = context.getResources().getColor(R.color.white);
 
         this.setStyle(style);
 
@@ -304,6 +403,38 @@ public class SuperToast {
      */
     public void show() {
 
+        /* The time to live counts from here even if the SuperToast is handed to the main thread */
+        mShowTime = SystemClock.uptimeMillis();
+
+        if (!MainThreadQueue.isMainThread()) {
+
+            MainThreadQueue.getInstance().execute(mShowRunnable);
+
+            return;
+
+        }
+
+        this.showOnMainThread();
+
+    }
+
+    /**
+     * Adds the {@value #TAG} to the queue without restarting its time to live.
+     */
+    private void showOnMainThread() {
+
+        this.prepareWindowManagerParams();
+
+        ManagerSuperToast.getInstance().add(this);
+
+    }
+
+    /**
+     * Used by ManagerSuperToast to create the window manager layout params of SuperToasts
+     * that are queued without calling {@link #show()}.
+     */
+    void prepareWindowManagerParams() {
+
         mWindowManagerParams = new WindowManager.LayoutParams();
 
         mWindowManagerParams.height = WindowManager.LayoutParams.WRAP_CONTENT;
@@ -311,6 +442,13 @@ public class SuperToast {
         mWindowManagerParams.flags = WindowManager.LayoutParams.FLAG_NOT_FOCUSABLE
                 | WindowManager.LayoutParams.FLAG_NOT_TOUCHABLE
                 | WindowManager.LayoutParams.FLAG_KEEP_SCREEN_ON;
+
+        if (mOnExpandListener != null) {
+
+            /* A digest summary that can be expanded has to receive touches */
+            mWindowManagerParams.flags &= ~WindowManager.LayoutParams.FLAG_NOT_TOUCHABLE;
+
+        }
         mWindowManagerParams.format = PixelFormat.TRANSLUCENT;
         mWindowManagerParams.windowAnimations = getAnimation();
         mWindowManagerParams.type = WindowManager.LayoutParams.TYPE_TOAST;
@@ -318,8 +456,6 @@ public class SuperToast {
         mWindowManagerParams.x = mXOffset;
         mWindowManagerParams.y = mYOffset;
 
-        ManagerSuperToast.getInstance().add(this);
-
     }
 
     /**
@@ -327,20 +463,102 @@ public class SuperToast {
      *
      * @param text {@link CharSequence}
      */
-    public void setText(CharSequence text) {
+    public void setText(final CharSequence text) {
+
+        if (!MainThreadQueue.isMainThread()) {
+
+            MainThreadQueue.getInstance().execute(new Runnable() {
 
-        mMessageTextView.setText(text);
+                @Override
+                public void run() {
+
+                    setText(text);
+
+                }
+
+            });
+
+            return;
+
+        }
+
+        this.mText = text;
+
+        this.updateMessageText();
 
     }
 
     /**
-     * Returns the message text of the {@value #TAG}.
+     * Returns the message text of the {@value #TAG}. This does not include
+     * the occurrence counter of a coalesced {@value #TAG}.
      *
      * @return {@link CharSequence}
      */
     public CharSequence getText() {
 
-        return mMessageTextView.getText();
+        return mText != null ? mText : getTextView().getText();
+
+    }
+
+    /**
+     * Returns how many times this {@value #TAG} has been shown. This will be greater
+     * than one if identical SuperToasts were coalesced into this one.
+     *
+     * @return int
+     */
+    public int getOccurrenceCount() {
+
+        return this.mOccurrences;
+
+    }
+
+    /**
+     * Used by ManagerSuperToast when an identical {@value #TAG} is coalesced into this one.
+     */
+    void incrementOccurrenceCount() {
+
+        this.mOccurrences++;
+
+        this.updateMessageText();
+
+    }
+
+    /**
+     * Used by ManagerSuperToast to find identical SuperToasts when coalescing. Only the
+     * stored attributes are compared so the views of queued SuperToasts are never inflated.
+     */
+    boolean isDuplicateOf(SuperToast superToast) {
+
+        return TextUtils.equals(mText != null ? mText.toString() : null,
+                superToast.mText != null ? superToast.mText.toString() : null)
+                && this.mBackground == superToast.mBackground
+                && this.mTypefaceStyle == superToast.mTypefaceStyle
+                && this.mAnimations == superToast.mAnimations
+                && this.mTextColor == superToast.mTextColor;
+
+    }
+
+    /**
+     * Private method used to apply the message text and occurrence counter to the message textview
+     */
+    private void updateMessageText() {
+
+        if (mMessageTextView == null) {
+
+            return;
+
+        }
+
+        if (mOccurrences > 1) {
+
+            mMessageTextView.setText(TextUtils.concat(mText,
+                    String.format(OCCURRENCES_FORMAT, mOccurrences)));
+
+        } else {
+
+            mMessageTextView.setText(mText);
+
+        }
 
     }
 
@@ -353,7 +571,11 @@ public class SuperToast {
 
         mTypefaceStyle = typeface;
 
-        mMessageTextView.setTypeface(mMessageTextView.getTypeface(), typeface);
+        if (mMessageTextView != null) {
+
+            mMessageTextView.setTypeface(mMessageTextView.getTypeface(), typeface);
+
+        }
 
     }
 
@@ -375,7 +597,13 @@ public class SuperToast {
      */
     public void setTextColor(int textColor) {
 
-        mMessageTextView.setTextColor(textColor);
+        this.mTextColor = textColor;
+
+        if (mMessageTextView != null) {
+
+            mMessageTextView.setTextColor(textColor);
+
+        }
 
     }
 
@@ -386,7 +614,7 @@ public class SuperToast {
      */
     public int getTextColor() {
 
-        return mMessageTextView.getCurrentTextColor();
+        return mMessageTextView != null ? mMessageTextView.getCurrentTextColor() : mTextColor;
 
     }
 
@@ -397,7 +625,13 @@ public class SuperToast {
      */
     public void setTextSize(int textSize) {
 
-        mMessageTextView.setTextSize(textSize);
+        this.mTextSize = textSize;
+
+        if (mMessageTextView != null) {
+
+            mMessageTextView.setTextSize(textSize);
+
+        }
 
     }
 
@@ -408,7 +642,14 @@ public class SuperToast {
      */
     public float getTextSize() {
 
-        return mMessageTextView.getTextSize();
+        if (mMessageTextView == null && mTextSize > 0) {
+
+            return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, mTextSize,
+                    mContext.getResources().getDisplayMetrics());
+
+        }
+
+        return getTextView().getTextSize();
 
     }
 
@@ -445,32 +686,52 @@ public class SuperToast {
     }
 
     /**
-     * Sets an icon resource to the {@value #TAG} with a specified position.
+     * Sets the longest time in milliseconds the {@value #TAG} may wait in the queue,
+     * counted from {@link #show()}. A {@value #TAG} that is still pending after this
+     * time is discarded instead of shown. Zero, the default, means no limit.
      *
-     * @param iconResource {@link com.github.johnpersano.supertoasts.SuperToast.Icon}
-     * @param iconPosition {@link com.github.johnpersano.supertoasts.SuperToast.IconPosition}
+     * @param timeToLive long
      */
-    public void setIcon(int iconResource, IconPosition iconPosition) {
+    public void setTimeToLive(long timeToLive) {
 
-        if (iconPosition == IconPosition.BOTTOM) {
+        this.mTimeToLive = timeToLive;
 
-            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null, null,
-                    null, mContext.getResources().getDrawable(iconResource));
+    }
 
-        } else if (iconPosition == IconPosition.LEFT) {
+    /**
+     * Returns the time to live of the {@value #TAG}.
+     *
+     * @return long
+     */
+    public long getTimeToLive() {
 
-            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(mContext.getResources()
-                    .getDrawable(iconResource), null, null, null);
+        return this.mTimeToLive;
 
-        } else if (iconPosition == IconPosition.RIGHT) {
+    }
 
-            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null, null,
-                    mContext.getResources().getDrawable(iconResource), null);
+    /**
+     * Used by ManagerSuperToast to discard a {@value #TAG} that waited longer than its time to live.
+     */
+    boolean isExpired(long now) {
 
-        } else if (iconPosition == IconPosition.TOP) {
+        return mTimeToLive > 0 && now - mShowTime > mTimeToLive;
 
-            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null,
-                    mContext.getResources().getDrawable(iconResource), null, null);
+    }
+
+    /**
+     * Sets an icon resource to the {@value #TAG} with a specified position.
+     *
+     * @param iconResource {@link com.github.johnpersano.supertoasts.SuperToast.Icon}
+     * @param iconPosition {@link com.github.johnpersano.supertoasts.SuperToast.IconPosition}
+     */
+    public void setIcon(int iconResource, IconPosition iconPosition) {
+
+        this.mIconResource = iconResource;
+        this.mIconPosition = iconPosition;
+
+        if (mMessageTextView != null) {
+
+            this.updateIcon();
 
         }
 
@@ -485,7 +746,11 @@ public class SuperToast {
 
         this.mBackground = background;
 
-        mRootLayout.setBackgroundResource(background);
+        if (mRootLayout != null) {
+
+            mRootLayout.setBackgroundResource(background);
+
+        }
 
     }
 
@@ -537,6 +802,149 @@ public class SuperToast {
 
     }
 
+    /**
+     * Sets the priority of the {@value #TAG}. This must be set before
+     * {@link #show()} is called.
+     *
+     * @param priority {@link com.github.johnpersano.supertoasts.SuperToast.Priority}
+     */
+    public void setPriority(Priority priority) {
+
+        this.mPriority = priority;
+
+    }
+
+    /**
+     * Returns the priority of the {@value #TAG}.
+     *
+     * @return {@link com.github.johnpersano.supertoasts.SuperToast.Priority}
+     */
+    public Priority getPriority() {
+
+        return this.mPriority;
+
+    }
+
+    /**
+     * Sets a tag to the {@value #TAG}. SuperToasts with the same tag share
+     * a rate limit, see {@link #setRateLimit(String, float, int, RateLimitPolicy)}.
+     *
+     * @param tag {@link String}
+     */
+    public void setTag(String tag) {
+
+        this.mTag = tag;
+
+    }
+
+    /**
+     * Returns the tag of the {@value #TAG}.
+     *
+     * @return {@link String}
+     */
+    public String getTag() {
+
+        return this.mTag;
+
+    }
+
+    /**
+     * Sets a key to the {@value #TAG}. A {@value #TAG} with a key can be found or
+     * cancelled while it is showing or pending, see {@link #cancel(String)}.
+     *
+     * @param key {@link String}
+     */
+    public void setKey(String key) {
+
+        this.mKey = key;
+
+    }
+
+    /**
+     * Returns the key of the {@value #TAG}.
+     *
+     * @return {@link String}
+     */
+    public String getKey() {
+
+        return this.mKey;
+
+    }
+
+    /**
+     * Used by ManagerSuperToast to create summary SuperToasts.
+     */
+    Context getContext() {
+
+        return this.mContext;
+
+    }
+
+    /**
+     * Used by ManagerSuperToast to mark a {@value #TAG} that is in its priority queue.
+     */
+    void setQueued(boolean queued) {
+
+        this.mIsQueued = queued;
+
+    }
+
+    /**
+     * Used by ManagerSuperToast to tell if a {@value #TAG} is in its priority queue.
+     */
+    boolean isQueued() {
+
+        return this.mIsQueued;
+
+    }
+
+    /**
+     * Used by ManagerSuperToast to mark a pending {@value #TAG} that was cancelled by key.
+     */
+    void setCancelled(boolean cancelled) {
+
+        this.mIsCancelled = cancelled;
+
+    }
+
+    /**
+     * Used by ManagerSuperToast to skip a cancelled {@value #TAG} when it is polled.
+     */
+    boolean isCancelled() {
+
+        return this.mIsCancelled;
+
+    }
+
+    /**
+     * Used by ManagerSuperToast to keep the order SuperToasts were added within a priority level.
+     */
+    void setQueueSequence(long queueSequence) {
+
+        this.mQueueSequence = queueSequence;
+
+    }
+
+    /**
+     * Used by ManagerSuperToast to keep the order SuperToasts were added within a priority level.
+     */
+    long getQueueSequence() {
+
+        return this.mQueueSequence;
+
+    }
+
+    /**
+     * Used by ManagerSuperToast to make a digest summary expandable. Must be called before
+     * the view is inflated.
+     */
+    void setOnExpandListener(OnExpandListener onExpandListener, List<CharSequence> messages) {
+
+        this.mOnExpandListener = onExpandListener;
+        this.mExpandMessages = messages;
+
+    }
+
     /**
      * Sets an OnDismissListener defined in this library
      * to the {@value #TAG}. Does not require wrapper.
@@ -565,6 +973,14 @@ public class SuperToast {
      */
     public void dismiss() {
 
+        if (!MainThreadQueue.isMainThread()) {
+
+            MainThreadQueue.getInstance().execute(mDismissRunnable);
+
+            return;
+
+        }
+
         ManagerSuperToast.getInstance().removeSuperToast(this);
 
     }
@@ -576,6 +992,8 @@ public class SuperToast {
      */
     public TextView getTextView() {
 
+        this.inflateView();
+
         return mMessageTextView;
 
     }
@@ -587,6 +1005,8 @@ public class SuperToast {
      */
     public View getView() {
 
+        this.inflateView();
+
         return mToastView;
 
     }
@@ -624,6 +1044,109 @@ public class SuperToast {
 
     }
 
+    /**
+     * Used by ManagerSuperToast to return the view of a dismissed {@value #TAG} to the view pool.
+     */
+    void recycleView() {
+
+        if (mToastView != null) {
+
+            ToastViewPool.getInstance().recycle(mContext.getApplicationContext(),
+                    R.layout.supertoast, mToastView);
+
+            mToastView = null;
+            mRootLayout = null;
+            mMessageTextView = null;
+
+        }
+
+    }
+
+    /**
+     * Private method used to inflate the {@value #TAG} view the first time it is needed.
+     * Attributes that were set before the view existed are applied here.
+     */
+    private void inflateView() {
+
+        if (mToastView != null) {
+
+            return;
+
+        }
+
+        /* Pooled with the application context so pooled views never hold an Activity */
+        mToastView = ToastViewPool.getInstance().obtain(mContext.getApplicationContext(),
+                R.layout.supertoast, null);
+
+        final ToastViewPool.ViewHolder viewHolder = ToastViewPool.getViewHolder(mToastView);
+
+        mRootLayout = viewHolder.mRootLayout;
+        mMessageTextView = viewHolder.mMessageTextView;
+
+        if (mText != null) {
+
+            this.updateMessageText();
+
+        }
+
+        mMessageTextView.setTypeface(mMessageTextView.getTypeface(), mTypefaceStyle);
+        mMessageTextView.setTextColor(mTextColor);
+
+        if (mTextSize > 0) {
+
+            mMessageTextView.setTextSize(mTextSize);
+
+        }
+
+        if (mIconResource != 0 && mIconPosition != null) {
+
+            this.updateIcon();
+
+        }
+
+        if (mBackground != 0) {
+
+            mRootLayout.setBackgroundResource(mBackground);
+
+        }
+
+        if (mOnExpandListener != null) {
+
+            mToastView.setOnTouchListener(mExpandTouchListener);
+
+        }
+
+    }
+
+    /**
+     * Private method used to apply the icon resource to the message textview
+     */
+    private void updateIcon() {
+
+        if (mIconPosition == IconPosition.BOTTOM) {
+
+            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null, null,
+                    null, mContext.getResources().getDrawable(mIconResource));
+
+        } else if (mIconPosition == IconPosition.LEFT) {
+
+            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(mContext.getResources()
+                    .getDrawable(mIconResource), null, null, null);
+
+        } else if (mIconPosition == IconPosition.RIGHT) {
+
+            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null, null,
+                    mContext.getResources().getDrawable(mIconResource), null);
+
+        } else if (mIconPosition == IconPosition.TOP) {
+
+            mMessageTextView.setCompoundDrawablesWithIntrinsicBounds(null,
+                    mContext.getResources().getDrawable(mIconResource), null, null);
+
+        }
+
+    }
+
     /**
      * Private method used to return a specific animation for a animations enum
      */
@@ -661,6 +1184,34 @@ public class SuperToast {
 
     }
 
+    /**
+     * Runnable to show the {@value #TAG} from the main thread.
+     */
+    private final Runnable mShowRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+
+            showOnMainThread();
+
+        }
+
+    };
+
+    /**
+     * Runnable to dismiss the {@value #TAG} from the main thread.
+     */
+    private final Runnable mDismissRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+
+            dismiss();
+
+        }
+
+    };
+
     /**
      * Returns a standard {@value #TAG}.
      *
@@ -724,6 +1275,26 @@ public class SuperToast {
 
     }
 
+    /**
+     * Creates {@value #TAG} views while the main thread is idle so showing the
+     * first {@value #TAG}s does not need to inflate a layout.
+     *
+     * @param context {@link android.content.Context}
+     * @param count   int
+     */
+    public static void prewarm(Context context, int count) {
+
+        if (context == null) {
+
+            throw new IllegalArgumentException(TAG + ERROR_CONTEXTNULL);
+
+        }
+
+        ToastViewPool.getInstance().prewarm(context.getApplicationContext(),
+                R.layout.supertoast, null, count);
+
+    }
+
     /**
      * Dismisses and removes all showing/pending {@value #TAG}.
      */
@@ -733,6 +1304,209 @@ public class SuperToast {
 
     }
 
-}
+    /**
+     * Cancels the showing/pending {@value #TAG} with the key. Returns true if one was found.
+     *
+     * @param key {@link String}
+     * @return boolean
+     */
+    public static boolean cancel(String key) {
+
+        return ManagerSuperToast.getInstance().cancel(key);
+
+    }
+
+    /**
+     * Returns the showing/pending {@value #TAG} with the key or null.
+     *
+     * @param key {@link String}
+     * @return {@link com.github.johnpersano.supertoasts.SuperToast}
+     */
+    public static SuperToast find(String key) {
+
+        return ManagerSuperToast.getInstance().find(key);
+
+    }
+
+    /**
+     * Returns true if a {@value #TAG} with the key is showing or pending.
+     *
+     * @param key {@link String}
+     * @return boolean
+     */
+    public static boolean isQueued(String key) {
+
+        return ManagerSuperToast.getInstance().find(key) != null;
 
+    }
+
+    /**
+     * If true, a {@value #TAG} that is identical (same text and style) to one that is
+     * already showing or pending will be merged into it. The merged {@value #TAG} shows
+     * an occurrence counter and its duration is restarted. Disabled by default.
+     *
+     * @param coalesceDuplicates boolean
+     */
+    public static void setCoalesceDuplicates(boolean coalesceDuplicates) {
+
+        ManagerSuperToast.getInstance().setCoalesceDuplicates(coalesceDuplicates);
+
+    }
+
+    /**
+     * Sets the maximum amount of dismissed toast views that are kept for reuse for each
+     * layout. This applies to all types of SuperToasts. The default is three, zero disables
+     * view reuse.
+     *
+     * @param maxSize int
+     */
+    public static void setViewPoolSize(int maxSize) {
+
+        ToastViewPool.getInstance().setMaxSize(maxSize);
+
+    }
 
+    /**
+     * If true, the views of all types of SuperToasts are built in code instead of being
+     * inflated from XML. The views are identical to the XML layouts of this library.
+     * How much time this saves depends on the device, the demo app times both ways.
+     * Disabled by default.
+     *
+     * @param useProgrammaticViews boolean
+     */
+    public static void setUseProgrammaticViews(boolean useProgrammaticViews) {
+
+        ToastViewPool.getInstance().setUseViewFactory(useProgrammaticViews);
+
+    }
+
+    /**
+     * If true, all {@value #TAG}s are shown in a single window that stays attached while
+     * {@value #TAG}s are pending. The content of the window is swapped instead of adding and
+     * removing a window for every {@value #TAG}. Show/hide animations are only used when the
+     * window is added or removed. Disabled by default.
+     *
+     * @param usePersistentWindow boolean
+     */
+    public static void setUsePersistentWindow(boolean usePersistentWindow) {
+
+        ManagerSuperToast.getInstance().setUsePersistentWindow(usePersistentWindow);
+
+    }
+
+    /**
+     * Limits the amount of pending {@value #TAG}s. When the limit is reached the
+     * {@link com.github.johnpersano.supertoasts.SuperToast.OverflowPolicy} decides which
+     * {@value #TAG} is discarded. The queue is unbounded by default. The capacity
+     * must be at least one.
+     *
+     * @param capacity       int
+     * @param overflowPolicy {@link com.github.johnpersano.supertoasts.SuperToast.OverflowPolicy}
+     */
+    public static void setQueueCapacity(int capacity, OverflowPolicy overflowPolicy) {
+
+        ManagerSuperToast.getInstance().setQueueCapacity(capacity, overflowPolicy);
+
+    }
+
+    /**
+     * Returns how many {@value #TAG}s have been discarded by a specific
+     * {@link com.github.johnpersano.supertoasts.SuperToast.OverflowPolicy}.
+     *
+     * @param overflowPolicy {@link com.github.johnpersano.supertoasts.SuperToast.OverflowPolicy}
+     *
+     * @return int
+     */
+    public static int getOverflowCount(OverflowPolicy overflowPolicy) {
+
+        return ManagerSuperToast.getInstance().getOverflowCount(overflowPolicy);
+
+    }
+
+    /**
+     * Replaces the pending {@value #TAG}s with a single summary {@value #TAG} such as
+     * "12 new messages" when more than the threshold are pending. The optional listener
+     * receives the collapsed messages when the summary is tapped, on API levels where the
+     * system lets toast windows receive touches. A threshold of zero disables digests,
+     * the default.
+     *
+     * @param threshold        int
+     * @param onExpandListener {@link com.github.johnpersano.supertoasts.SuperToast.OnExpandListener}
+     */
+    public static void setDigestThreshold(int threshold, OnExpandListener onExpandListener) {
+
+        ManagerSuperToast.getInstance().setDigestThreshold(threshold, onExpandListener);
+
+    }
+
+    /**
+     * Returns how many {@value #TAG}s have been discarded because they waited in the
+     * queue longer than their time to live, see {@link #setTimeToLive(long)}.
+     *
+     * @return int
+     */
+    public static int getExpiredCount() {
+
+        return ManagerSuperToast.getInstance().getExpiredCount();
+
+    }
+
+    /**
+     * Limits how often {@value #TAG}s can be added. Up to burst {@value #TAG}s can be
+     * added at once after which they are limited to permitsPerSecond. A rate of zero
+     * or less removes the rate limit.
+     *
+     * @param permitsPerSecond float
+     * @param burst            int
+     * @param rateLimitPolicy  {@link com.github.johnpersano.supertoasts.SuperToast.RateLimitPolicy}
+     */
+    public static void setRateLimit(float permitsPerSecond, int burst, RateLimitPolicy rateLimitPolicy) {
+
+        ManagerSuperToast.getInstance().setRateLimit(null, permitsPerSecond, burst, rateLimitPolicy);
+
+    }
+
+    /**
+     * Limits how often {@value #TAG}s with a specific tag can be added. This takes
+     * precedence over the global rate limit. A rate of zero or less removes the rate limit.
+     *
+     * @param tag              {@link String}
+     * @param permitsPerSecond float
+     * @param burst            int
+     * @param rateLimitPolicy  {@link com.github.johnpersano.supertoasts.SuperToast.RateLimitPolicy}
+     */
+    public static void setRateLimit(String tag, float permitsPerSecond, int burst,
+                                    RateLimitPolicy rateLimitPolicy) {
+
+        ManagerSuperToast.getInstance().setRateLimit(tag, permitsPerSecond, burst, rateLimitPolicy);
+
+    }
+
+    /**
+     * Runs the expand callback of a digest summary when it is tapped and dismisses it.
+     */
+    private final OnTouchListener mExpandTouchListener = new OnTouchListener() {
+
+        @Override
+        public boolean onTouch(View view, MotionEvent motionEvent) {
+
+            if (motionEvent.getAction() == MotionEvent.ACTION_UP && mOnExpandListener != null) {
+
+                final OnExpandListener onExpandListener = mOnExpandListener;
+
+                /* Expand once even if more touch events arrive before the dismissal */
+                mOnExpandListener = null;
+
+                onExpandListener.onExpand(mExpandMessages);
+
+                dismiss();
+
+            }
+
+            return true;
+
+        }
+
+    };
+
+}
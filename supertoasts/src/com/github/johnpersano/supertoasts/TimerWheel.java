@@ -0,0 +1,466 @@
+/**
+ *  Copyright 2014 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.github.johnpersano.supertoasts;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+import android.os.SystemClock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/* Main thread scheduler shared by the library, backed by a hashed timing wheel */
+class TimerWheel extends Handler {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final String TAG = "TimerWheel";
+
+    /* Length of one slot of the wheel in milliseconds */
+    private static final long TICK_DURATION = 50;
+
+    /* Amount of slots in the wheel, must be a power of two */
+    private static final int WHEEL_SIZE = 256;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    /* Index of the list of Runnables that should run as soon as possible */
+    private static final int IMMEDIATE = WHEEL_SIZE;
+
+    /* States of a Timeout that is not linked in a list */
+    private static final int DUE = -1;
+    private static final int CANCELLED = -2;
+
+    /* Maximum amount of Timeouts kept for reuse */
+    private static final int MAX_POOL_SIZE = 16;
+
+    /* Potential messages for the handler to send **/
+    private static final class Messages {
+
+        /* Hexadecimal numbers that represent acronyms for the operation **/
+        private static final int TICK = 0x54434b;
+        private static final int RUN_IMMEDIATE = 0x52494d;
+
+    }
+
+    private static TimerWheel mTimerWheel;
+
+    /* Heads of the doubly linked list of each slot, the last one is the immediate list */
+    private final Timeout[] mSlots;
+
+    /* Pending Timeouts by Runnable so they can be cancelled in constant time */
+    private final HashMap<Runnable, Timeout> mTimeouts;
+
+    /* Timeouts that are due and are about to run */
+    private final ArrayList<Timeout> mDueTimeouts;
+
+    private final long mStartTime;
+
+    private long mCurrentTick;
+    private long mNextTickTime = Long.MAX_VALUE;
+
+    private int mWheelCount;
+    private boolean mIsImmediatePending;
+
+    private Timeout mPool;
+    private int mPoolSize;
+
+    private TimerWheel() {
+
+        super(Looper.getMainLooper());
+
+        mSlots = new Timeout[WHEEL_SIZE + 1];
+        mTimeouts = new HashMap<Runnable, Timeout>();
+        mDueTimeouts = new ArrayList<Timeout>();
+        mStartTime = SystemClock.uptimeMillis();
+
+    }
+
+    /* Singleton method to ensure all Runnables are scheduled by the same wheel */
+    static synchronized TimerWheel getInstance() {
+
+        if (mTimerWheel != null) {
+
+            return mTimerWheel;
+
+        } else {
+
+            mTimerWheel = new TimerWheel();
+
+            return mTimerWheel;
+
+        }
+
+    }
+
+    /**
+     * Runs the Runnable after the delay. Scheduling a Runnable that is already pending
+     * reschedules it. A delay of zero or less runs the Runnable in the next message of
+     * the main thread. Must be called from the main thread.
+     */
+    void schedule(Runnable runnable, long delay) {
+
+        cancel(runnable);
+
+        final Timeout timeout = obtainTimeout(runnable);
+
+        if (delay <= 0) {
+
+            link(timeout, IMMEDIATE);
+
+            if (!mIsImmediatePending) {
+
+                mIsImmediatePending = true;
+
+                sendEmptyMessage(Messages.RUN_IMMEDIATE);
+
+            }
+
+        } else {
+
+            final long now = SystemClock.uptimeMillis();
+
+            /* When the wheel was idle the cursor is moved forward without visiting empty slots */
+            if (mWheelCount == 0) {
+
+                mCurrentTick = (now - mStartTime) / TICK_DURATION;
+
+            }
+
+            /* Round up so a Runnable never runs early */
+            timeout.mDeadlineTick = Math.max(mCurrentTick + 1,
+                    (now + delay - mStartTime + TICK_DURATION - 1) / TICK_DURATION);
+
+            link(timeout, (int) (timeout.mDeadlineTick & WHEEL_MASK));
+
+            mWheelCount++;
+
+            scheduleTick(timeout.mDeadlineTick);
+
+        }
+
+        mTimeouts.put(runnable, timeout);
+
+    }
+
+    /**
+     * Runs the Runnable in the next message of the main thread.
+     */
+    void post(Runnable runnable) {
+
+        schedule(runnable, 0);
+
+    }
+
+    /**
+     * Removes a pending Runnable. Returns true if it was pending.
+     */
+    boolean cancel(Runnable runnable) {
+
+        final Timeout timeout = mTimeouts.remove(runnable);
+
+        if (timeout == null) {
+
+            return false;
+
+        }
+
+        if (timeout.mSlot == DUE) {
+
+            /* The Timeout is recycled once the due Timeouts have run */
+            timeout.mSlot = CANCELLED;
+
+        } else {
+
+            if (timeout.mSlot != IMMEDIATE) {
+
+                mWheelCount--;
+
+            }
+
+            unlink(timeout);
+            recycleTimeout(timeout);
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Returns true if the Runnable is pending.
+     */
+    boolean isScheduled(Runnable runnable) {
+
+        return mTimeouts.containsKey(runnable);
+
+    }
+
+    @Override
+    public void handleMessage(Message message) {
+
+        switch (message.what) {
+
+            case Messages.TICK:
+
+                mNextTickTime = Long.MAX_VALUE;
+
+                advance();
+
+                break;
+
+            case Messages.RUN_IMMEDIATE:
+
+                mIsImmediatePending = false;
+
+                collectSlot(IMMEDIATE, Long.MAX_VALUE);
+
+                runDueTimeouts();
+
+                break;
+
+            default: {
+
+                super.handleMessage(message);
+
+                break;
+
+            }
+
+        }
+
+    }
+
+    /* Visits every slot the cursor passed since the last tick and runs what is due */
+    private void advance() {
+
+        final long targetTick = (SystemClock.uptimeMillis() - mStartTime) / TICK_DURATION;
+
+        /* Never visit a slot twice even if the main thread was blocked for a full revolution */
+        final long lastTick = Math.min(targetTick, mCurrentTick + WHEEL_SIZE);
+
+        while (mCurrentTick < lastTick) {
+
+            mCurrentTick++;
+
+            final int slot = (int) (mCurrentTick & WHEEL_MASK);
+
+            mWheelCount -= collectSlot(slot, targetTick);
+
+        }
+
+        mCurrentTick = Math.max(mCurrentTick, targetTick);
+
+        runDueTimeouts();
+
+        if (mWheelCount > 0) {
+
+            scheduleTick(findNextTick());
+
+        }
+
+    }
+
+    /* Moves the Timeouts of a slot that are due by the tick to the due list */
+    private int collectSlot(int slot, long tick) {
+
+        int count = 0;
+
+        Timeout timeout = mSlots[slot];
+
+        while (timeout != null) {
+
+            final Timeout next = timeout.mNext;
+
+            if (timeout.mDeadlineTick <= tick) {
+
+                unlink(timeout);
+
+                timeout.mSlot = DUE;
+
+                mDueTimeouts.add(timeout);
+
+                count++;
+
+            }
+
+            timeout = next;
+
+        }
+
+        return count;
+
+    }
+
+    /* Runs the due Timeouts, a Runnable may schedule or cancel other Runnables */
+    private void runDueTimeouts() {
+
+        for (int i = 0; i < mDueTimeouts.size(); i++) {
+
+            final Timeout timeout = mDueTimeouts.get(i);
+
+            final Runnable runnable = timeout.mRunnable;
+
+            if (timeout.mSlot == DUE) {
+
+                mTimeouts.remove(runnable);
+
+                recycleTimeout(timeout);
+
+                runnable.run();
+
+            } else {
+
+                recycleTimeout(timeout);
+
+            }
+
+        }
+
+        mDueTimeouts.clear();
+
+    }
+
+    /* Returns the tick of the next slot that is not empty */
+    private long findNextTick() {
+
+        for (int i = 1; i <= WHEEL_SIZE; i++) {
+
+            if (mSlots[(int) ((mCurrentTick + i) & WHEEL_MASK)] != null) {
+
+                return mCurrentTick + i;
+
+            }
+
+        }
+
+        return mCurrentTick + WHEEL_SIZE;
+
+    }
+
+    private void scheduleTick(long tick) {
+
+        final long tickTime = mStartTime + tick * TICK_DURATION;
+
+        if (tickTime < mNextTickTime) {
+
+            mNextTickTime = tickTime;
+
+            removeMessages(Messages.TICK);
+
+            sendEmptyMessageAtTime(Messages.TICK, tickTime);
+
+        }
+
+    }
+
+    private void link(Timeout timeout, int slot) {
+
+        timeout.mSlot = slot;
+        timeout.mPrevious = null;
+        timeout.mNext = mSlots[slot];
+
+        if (timeout.mNext != null) {
+
+            timeout.mNext.mPrevious = timeout;
+
+        }
+
+        mSlots[slot] = timeout;
+
+    }
+
+    private void unlink(Timeout timeout) {
+
+        if (timeout.mPrevious != null) {
+
+            timeout.mPrevious.mNext = timeout.mNext;
+
+        } else {
+
+            mSlots[timeout.mSlot] = timeout.mNext;
+
+        }
+
+        if (timeout.mNext != null) {
+
+            timeout.mNext.mPrevious = timeout.mPrevious;
+
+        }
+
+        timeout.mPrevious = null;
+        timeout.mNext = null;
+
+    }
+
+    private Timeout obtainTimeout(Runnable runnable) {
+
+        Timeout timeout = mPool;
+
+        if (timeout != null) {
+
+            mPool = timeout.mNext;
+            mPoolSize--;
+
+            timeout.mNext = null;
+
+        } else {
+
+            timeout = new Timeout();
+
+        }
+
+        timeout.mRunnable = runnable;
+
+        return timeout;
+
+    }
+
+    private void recycleTimeout(Timeout timeout) {
+
+        timeout.mRunnable = null;
+        timeout.mPrevious = null;
+        timeout.mSlot = CANCELLED;
+
+        if (mPoolSize < MAX_POOL_SIZE) {
+
+            timeout.mNext = mPool;
+
+            mPool = timeout;
+            mPoolSize++;
+
+        } else {
+
+            timeout.mNext = null;
+
+        }
+
+    }
+
+    /* A scheduled Runnable linked in a slot of the wheel */
+    private static class Timeout {
+
+        Runnable mRunnable;
+        long mDeadlineTick;
+        int mSlot;
+
+        Timeout mPrevious;
+        Timeout mNext;
+
+    }
+
+}
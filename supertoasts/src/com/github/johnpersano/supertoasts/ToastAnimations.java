@@ -0,0 +1,490 @@
+/**
+ *  Copyright 2014 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.github.johnpersano.supertoasts;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.annotation.SuppressLint;
+import android.os.Build;
+import android.view.View;
+import android.view.ViewPropertyAnimator;
+import android.view.ViewTreeObserver;
+import android.view.animation.AccelerateInterpolator;
+import android.view.animation.AlphaAnimation;
+import android.view.animation.Animation;
+import android.view.animation.AnimationSet;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
+import android.view.animation.ScaleAnimation;
+import android.view.animation.TranslateAnimation;
+
+import com.github.johnpersano.supertoasts.SuperToast.Animations;
+
+import java.util.EnumMap;
+import java.util.LinkedList;
+
+/**
+ * Runs the show and dismiss animations of the SuperActivityToast and the SuperCardToast.
+ * On API 12 and above the animations are property animations that run on a hardware layer
+ * so the toast is not redrawn every frame. On older APIs legacy animations are used which
+ * are kept in a small pool per {@link com.github.johnpersano.supertoasts.SuperToast.Animations}
+ * and are returned to it when they end. This class should only be used from the main thread.
+ */
+class ToastAnimations {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final String TAG = "ToastAnimations";
+
+    private static final long DURATION = 250;
+    private static final long FADE_DURATION = 500;
+
+    private static final int MAX_POOL_SIZE = 4;
+
+    private static final Interpolator DECELERATE_INTERPOLATOR = new DecelerateInterpolator();
+    private static final Interpolator ACCELERATE_INTERPOLATOR = new AccelerateInterpolator();
+
+    private static final float FLYIN_DISTANCE = 0.75f;
+    private static final float POPUP_DISTANCE = 0.1f;
+    private static final float SCALE_FROM = 0.9f;
+
+    private static final EnumMap<Animations, LinkedList<PooledAnimation>> sShowPool =
+            new EnumMap<Animations, LinkedList<PooledAnimation>>(Animations.class);
+
+    private static final EnumMap<Animations, LinkedList<PooledAnimation>> sDismissPool =
+            new EnumMap<Animations, LinkedList<PooledAnimation>>(Animations.class);
+
+    private ToastAnimations() {
+
+        /* Do nothing */
+
+    }
+
+    /**
+     * Runs the show animation on a view that was just added to its parent. The end action
+     * may be null and is not run if the animation is cancelled.
+     */
+    static void animateShow(View view, Animations animations, Runnable endAction) {
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB_MR1) {
+
+            startShowAnimator(view, animations, endAction);
+
+        } else {
+
+            view.startAnimation(obtain(sShowPool, animations, true, endAction));
+
+        }
+
+    }
+
+    /**
+     * Runs the dismiss animation on a view. The view is left in its parent so the end
+     * action should remove it. The end action may be null and also runs if the animation
+     * is cancelled so a dismissed view is never left in its parent.
+     */
+    static void animateDismiss(View view, Animations animations, Runnable endAction) {
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB_MR1) {
+
+            startDismissAnimator(view, animations, endAction);
+
+        } else {
+
+            view.startAnimation(obtain(sDismissPool, animations, false, endAction));
+
+        }
+
+    }
+
+    /**
+     * Returns the duration of the show animation for the animation type.
+     */
+    static long getShowDuration(Animations animations) {
+
+        return animations == Animations.FLYIN || animations == Animations.SCALE
+                || animations == Animations.POPUP ? DURATION : FADE_DURATION;
+
+    }
+
+    /**
+     * Returns the duration of the dismiss animation for the animation type.
+     */
+    static long getDismissDuration(Animations animations) {
+
+        return getShowDuration(animations);
+
+    }
+
+    private static Animation obtain(EnumMap<Animations, LinkedList<PooledAnimation>> pool,
+                                    Animations animations, boolean show, Runnable endAction) {
+
+        if (animations == null) {
+
+            animations = Animations.FADE;
+
+        }
+
+        LinkedList<PooledAnimation> list = pool.get(animations);
+
+        if (list == null) {
+
+            list = new LinkedList<PooledAnimation>();
+            pool.put(animations, list);
+
+        }
+
+        PooledAnimation pooledAnimation = list.poll();
+
+        if (pooledAnimation == null) {
+
+            pooledAnimation = new PooledAnimation(list, show ? createShowAnimation(animations)
+                    : createDismissAnimation(animations));
+
+        }
+
+        pooledAnimation.mEndAction = endAction;
+        pooledAnimation.mAnimation.reset();
+
+        return pooledAnimation.mAnimation;
+
+    }
+
+    @SuppressLint("NewApi")
+    private static void startShowAnimator(final View view, final Animations animations,
+                                          final Runnable endAction) {
+
+        view.animate().cancel();
+        view.setAlpha(0f);
+
+        if ((animations == Animations.FLYIN || animations == Animations.POPUP)
+                && (view.getWidth() == 0 || view.getHeight() == 0)) {
+
+            /* The view has not been laid out yet so wait for its size before starting */
+            view.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+
+                @Override
+                public boolean onPreDraw() {
+
+                    final ViewTreeObserver viewTreeObserver = view.getViewTreeObserver();
+
+                    if (viewTreeObserver.isAlive()) {
+
+                        viewTreeObserver.removeOnPreDrawListener(this);
+
+                    }
+
+                    runShowAnimator(view, animations, endAction);
+
+                    return true;
+
+                }
+
+            });
+
+        } else {
+
+            runShowAnimator(view, animations, endAction);
+
+        }
+
+    }
+
+    @SuppressLint("NewApi")
+    private static void runShowAnimator(View view, Animations animations, Runnable endAction) {
+
+        final ViewPropertyAnimator viewPropertyAnimator = view.animate();
+
+        if (animations == Animations.FLYIN) {
+
+            view.setTranslationX(FLYIN_DISTANCE * view.getWidth());
+            viewPropertyAnimator.translationX(0f);
+
+        } else if (animations == Animations.SCALE) {
+
+            view.setScaleX(SCALE_FROM);
+            view.setScaleY(SCALE_FROM);
+            viewPropertyAnimator.scaleX(1f).scaleY(1f);
+
+        } else if (animations == Animations.POPUP) {
+
+            view.setTranslationY(POPUP_DISTANCE * view.getHeight());
+            viewPropertyAnimator.translationY(0f);
+
+        }
+
+        viewPropertyAnimator.alpha(1f)
+                .setDuration(getShowDuration(animations))
+                .setInterpolator(DECELERATE_INTERPOLATOR);
+
+        startAnimator(view, viewPropertyAnimator, endAction, false);
+
+    }
+
+    @SuppressLint("NewApi")
+    private static void startDismissAnimator(View view, Animations animations, Runnable endAction) {
+
+        view.animate().cancel();
+
+        final ViewPropertyAnimator viewPropertyAnimator = view.animate();
+
+        if (animations == Animations.FLYIN) {
+
+            viewPropertyAnimator.translationX(FLYIN_DISTANCE * view.getWidth())
+                    .setInterpolator(ACCELERATE_INTERPOLATOR);
+
+        } else if (animations == Animations.SCALE) {
+
+            viewPropertyAnimator.scaleX(SCALE_FROM).scaleY(SCALE_FROM)
+                    .setInterpolator(DECELERATE_INTERPOLATOR);
+
+        } else if (animations == Animations.POPUP) {
+
+            viewPropertyAnimator.translationY(POPUP_DISTANCE * view.getHeight())
+                    .setInterpolator(DECELERATE_INTERPOLATOR);
+
+        } else {
+
+            viewPropertyAnimator.setInterpolator(ACCELERATE_INTERPOLATOR);
+
+        }
+
+        viewPropertyAnimator.alpha(0f).setDuration(getDismissDuration(animations));
+
+        startAnimator(view, viewPropertyAnimator, endAction, true);
+
+    }
+
+    @SuppressLint("NewApi")
+    private static void startAnimator(View view, ViewPropertyAnimator viewPropertyAnimator,
+                                      Runnable endAction, boolean runOnCancel) {
+
+        viewPropertyAnimator.setListener(new LayerAnimatorListener(view, endAction, runOnCancel));
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+
+            viewPropertyAnimator.withLayer();
+
+        }
+
+        viewPropertyAnimator.start();
+
+    }
+
+    private static Animation createShowAnimation(Animations animations) {
+
+        if (animations == Animations.FLYIN) {
+
+            return createAnimationSet(new TranslateAnimation(
+                    Animation.RELATIVE_TO_SELF, 0.75f, Animation.RELATIVE_TO_SELF, 0.0f,
+                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, 0.0f),
+                    new AlphaAnimation(0f, 1f), DECELERATE_INTERPOLATOR);
+
+        } else if (animations == Animations.SCALE) {
+
+            return createAnimationSet(new ScaleAnimation(0.9f, 1.0f, 0.9f, 1.0f,
+                    Animation.RELATIVE_TO_SELF, 0.5f, Animation.RELATIVE_TO_SELF, 0.5f),
+                    new AlphaAnimation(0f, 1f), DECELERATE_INTERPOLATOR);
+
+        } else if (animations == Animations.POPUP) {
+
+            return createAnimationSet(new TranslateAnimation(
+                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, 0.0f,
+                    Animation.RELATIVE_TO_SELF, 0.1f, Animation.RELATIVE_TO_SELF, 0.0f),
+                    new AlphaAnimation(0f, 1f), DECELERATE_INTERPOLATOR);
+
+        } else {
+
+            final Animation animation = new AlphaAnimation(0f, 1f);
+            animation.setDuration(FADE_DURATION);
+            animation.setInterpolator(DECELERATE_INTERPOLATOR);
+
+            return animation;
+
+        }
+
+    }
+
+    private static Animation createDismissAnimation(Animations animations) {
+
+        if (animations == Animations.FLYIN) {
+
+            return createAnimationSet(new TranslateAnimation(
+                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, .75f,
+                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, 0.0f),
+                    new AlphaAnimation(1f, 0f), ACCELERATE_INTERPOLATOR);
+
+        } else if (animations == Animations.SCALE) {
+
+            return createAnimationSet(new ScaleAnimation(1.0f, 0.9f, 1.0f, 0.9f,
+                    Animation.RELATIVE_TO_SELF, 0.5f, Animation.RELATIVE_TO_SELF, 0.5f),
+                    new AlphaAnimation(1f, 0f), DECELERATE_INTERPOLATOR);
+
+        } else if (animations == Animations.POPUP) {
+
+            return createAnimationSet(new TranslateAnimation(
+                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, 0.0f,
+                    Animation.RELATIVE_TO_SELF, 0.0f, Animation.RELATIVE_TO_SELF, 0.1f),
+                    new AlphaAnimation(1f, 0f), DECELERATE_INTERPOLATOR);
+
+        } else {
+
+            final Animation animation = new AlphaAnimation(1f, 0f);
+            animation.setDuration(FADE_DURATION);
+            animation.setInterpolator(ACCELERATE_INTERPOLATOR);
+
+            return animation;
+
+        }
+
+    }
+
+    private static Animation createAnimationSet(Animation first, Animation second,
+                                                Interpolator interpolator) {
+
+        final AnimationSet animationSet = new AnimationSet(true);
+        animationSet.addAnimation(first);
+        animationSet.addAnimation(second);
+        animationSet.setInterpolator(interpolator);
+        animationSet.setDuration(DURATION);
+
+        return animationSet;
+
+    }
+
+    /**
+     * A legacy animation that returns itself to its pool when it ends. The end action is
+     * posted because the parent of the view can not be changed while it draws.
+     */
+    private static class PooledAnimation implements Animation.AnimationListener {
+
+        final LinkedList<PooledAnimation> mPool;
+        final Animation mAnimation;
+
+        Runnable mEndAction;
+
+        PooledAnimation(LinkedList<PooledAnimation> pool, Animation animation) {
+
+            this.mPool = pool;
+            this.mAnimation = animation;
+
+            animation.setAnimationListener(this);
+
+        }
+
+        @Override
+        public void onAnimationStart(Animation animation) {
+
+            /* Do nothing */
+
+        }
+
+        @Override
+        public void onAnimationEnd(Animation animation) {
+
+            if (mEndAction != null) {
+
+                TimerWheel.getInstance().post(mEndAction);
+
+                mEndAction = null;
+
+            }
+
+            if (mPool.size() < MAX_POOL_SIZE && !mPool.contains(this)) {
+
+                mPool.add(this);
+
+            }
+
+        }
+
+        @Override
+        public void onAnimationRepeat(Animation animation) {
+
+            /* Do nothing */
+
+        }
+
+    }
+
+    /**
+     * Holds the view on a hardware layer while a property animation runs and runs the
+     * end action. The end action of a cancelled animation only runs if runOnCancel is set.
+     * ViewPropertyAnimator.withLayer() handles the layer from API 16.
+     */
+    @SuppressLint("NewApi")
+    private static class LayerAnimatorListener extends AnimatorListenerAdapter {
+
+        final View mView;
+        final Runnable mEndAction;
+
+        /* Dismiss end actions remove the view so they must run even if the dismiss is cancelled */
+        final boolean mRunOnCancel;
+
+        int mLayerType;
+        boolean mIsCancelled;
+
+        LayerAnimatorListener(View view, Runnable endAction, boolean runOnCancel) {
+
+            this.mView = view;
+            this.mEndAction = endAction;
+            this.mRunOnCancel = runOnCancel;
+
+        }
+
+        @Override
+        public void onAnimationStart(Animator animator) {
+
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN) {
+
+                mLayerType = mView.getLayerType();
+                mView.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+
+            }
+
+        }
+
+        @Override
+        public void onAnimationCancel(Animator animator) {
+
+            mIsCancelled = true;
+
+        }
+
+        @Override
+        public void onAnimationEnd(Animator animator) {
+
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN) {
+
+                mView.setLayerType(mLayerType, null);
+
+            }
+
+            /* The listener stays set on the ViewPropertyAnimator so remove it */
+            mView.animate().setListener(null);
+
+            if ((!mIsCancelled || mRunOnCancel) && mEndAction != null) {
+
+                mEndAction.run();
+
+            }
+
+        }
+
+    }
+
+}
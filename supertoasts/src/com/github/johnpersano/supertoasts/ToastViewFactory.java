@@ -0,0 +1,534 @@
+/**
+ *  Copyright 2014 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.github.johnpersano.supertoasts;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Typeface;
+import android.util.DisplayMetrics;
+import android.util.TypedValue;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+/**
+ * Builds the toast layouts in code so no XML has to be parsed. The view hierarchies,
+ * ids, dimensions and colors mirror the XML layouts of this library. Dimensions and
+ * colors are resolved once and cached until the display metrics change.
+ */
+class ToastViewFactory {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final String TAG = "ToastViewFactory";
+
+    private static final String DEFAULT_TEXT = "Default";
+    private static final String DEFAULT_BUTTON_TEXT = "UNDO";
+
+    private static final int MATCH_PARENT = ViewGroup.LayoutParams.MATCH_PARENT;
+    private static final int WRAP_CONTENT = ViewGroup.LayoutParams.WRAP_CONTENT;
+    private static final int NO_GRAVITY = -1;
+
+    private static Dimensions mDimensions;
+
+    private ToastViewFactory() {
+
+        /* Only static methods */
+
+    }
+
+    /**
+     * Returns a new view for one of the toast layouts or null if the layout or
+     * the parent type is not supported, in which case the layout should be inflated.
+     */
+    static View create(Context context, int layoutResource, ViewGroup parent) {
+
+        if (parent != null && !(parent instanceof FrameLayout)
+                && !(parent instanceof LinearLayout)) {
+
+            return null;
+
+        }
+
+        final Dimensions dimensions = getDimensions(context.getResources());
+
+        if (layoutResource == R.layout.supertoast) {
+
+            return createStandard(context, dimensions, parent);
+
+        } else if (layoutResource == R.layout.superactivitytoast_button) {
+
+            return createActivityButton(context, dimensions, parent);
+
+        } else if (layoutResource == R.layout.superactivitytoast_progresscircle) {
+
+            return createActivityProgress(context, dimensions, parent);
+
+        } else if (layoutResource == R.layout.superactivitytoast_progresshorizontal) {
+
+            return createActivityProgressHorizontal(context, dimensions, parent);
+
+        } else if (layoutResource == R.layout.supercardtoast) {
+
+            return createCard(context, dimensions, parent);
+
+        } else if (layoutResource == R.layout.supercardtoast_button) {
+
+            return createCardButton(context, dimensions, parent);
+
+        } else if (layoutResource == R.layout.supercardtoast_progresscircle) {
+
+            return createCardProgress(context, dimensions, parent);
+
+        } else if (layoutResource == R.layout.supercardtoast_progresshorizontal) {
+
+            return createCardProgressHorizontal(context, dimensions, parent);
+
+        }
+
+        return null;
+
+    }
+
+    /* Mirrors R.layout.supertoast */
+    private static View createStandard(Context context, Dimensions dimensions, ViewGroup parent) {
+
+        final LinearLayout rootLayout = createRootLayout(context, LinearLayout.HORIZONTAL);
+
+        setRootLayoutParams(rootLayout, parent, WRAP_CONTENT, WRAP_CONTENT,
+                Gravity.BOTTOM | Gravity.CENTER_HORIZONTAL, 0, 0, 0, dimensions.mToastHover);
+
+        final TextView messageTextView = createMessageTextView(context, dimensions,
+                dimensions.mTextSizeSmall, Gravity.CENTER);
+
+        messageTextView.setPadding(dimensions.mDp16, dimensions.mDp8,
+                dimensions.mDp16, dimensions.mDp8);
+
+        rootLayout.addView(messageTextView, new LinearLayout.LayoutParams(
+                WRAP_CONTENT, MATCH_PARENT));
+
+        return rootLayout;
+
+    }
+
+    /* Mirrors R.layout.superactivitytoast_button */
+    private static View createActivityButton(Context context, Dimensions dimensions, ViewGroup parent) {
+
+        final LinearLayout rootLayout = createRootLayout(context, LinearLayout.HORIZONTAL);
+
+        setRootLayoutParams(rootLayout, parent, MATCH_PARENT, WRAP_CONTENT,
+                Gravity.BOTTOM | Gravity.CENTER_HORIZONTAL, dimensions.mButtonToastXPadding, 0,
+                dimensions.mButtonToastXPadding, dimensions.mButtonToastHover);
+
+        final TextView messageTextView = createMessageTextView(context, dimensions,
+                dimensions.mTextSizeMedium, Gravity.CENTER_VERTICAL);
+
+        messageTextView.setPadding(dimensions.mDp16, dimensions.mDp12,
+                dimensions.mDp16, dimensions.mDp12);
+
+        rootLayout.addView(messageTextView, createWeightedLayoutParams());
+
+        rootLayout.addView(createDividerView(context, dimensions),
+                createDividerLayoutParams(dimensions));
+
+        final Button button = createButton(context, dimensions, dimensions.mDp8);
+
+        button.setPadding(dimensions.mDp16, button.getPaddingTop(),
+                dimensions.mDp12, button.getPaddingBottom());
+
+        rootLayout.addView(button, new LinearLayout.LayoutParams(
+                WRAP_CONTENT, MATCH_PARENT));
+
+        return rootLayout;
+
+    }
+
+    /* Mirrors R.layout.superactivitytoast_progresscircle */
+    private static View createActivityProgress(Context context, Dimensions dimensions, ViewGroup parent) {
+
+        final LinearLayout rootLayout = createRootLayout(context, LinearLayout.HORIZONTAL);
+
+        setRootLayoutParams(rootLayout, parent, WRAP_CONTENT, WRAP_CONTENT,
+                Gravity.BOTTOM | Gravity.CENTER_HORIZONTAL, 0, 0, 0, dimensions.mToastHover);
+
+        final LinearLayout.LayoutParams progressLayoutParams = new LinearLayout.LayoutParams(
+                dimensions.mDp32, MATCH_PARENT);
+        progressLayoutParams.setMargins(dimensions.mDp8, dimensions.mDp4, 0, dimensions.mDp4);
+
+        rootLayout.addView(createProgressBar(context, android.R.attr.progressBarStyle),
+                progressLayoutParams);
+
+        final TextView messageTextView = createMessageTextView(context, dimensions,
+                dimensions.mTextSizeSmall, Gravity.CENTER);
+
+        messageTextView.setPadding(dimensions.mDp4, dimensions.mDp8,
+                dimensions.mDp16, dimensions.mDp8);
+
+        rootLayout.addView(messageTextView, new LinearLayout.LayoutParams(
+                WRAP_CONTENT, WRAP_CONTENT));
+
+        return rootLayout;
+
+    }
+
+    /* Mirrors R.layout.superactivitytoast_progresshorizontal */
+    private static View createActivityProgressHorizontal(Context context, Dimensions dimensions,
+                                                         ViewGroup parent) {
+
+        final LinearLayout rootLayout = createRootLayout(context, LinearLayout.VERTICAL);
+
+        rootLayout.setMinimumWidth(dimensions.mDp128);
+
+        setRootLayoutParams(rootLayout, parent, WRAP_CONTENT, WRAP_CONTENT,
+                Gravity.BOTTOM | Gravity.CENTER_HORIZONTAL, 0, 0, 0, dimensions.mToastHover);
+
+        final TextView messageTextView = createMessageTextView(context, dimensions,
+                dimensions.mTextSizeSmall, Gravity.CENTER);
+
+        messageTextView.setPadding(dimensions.mDp16, dimensions.mDp8, dimensions.mDp16, 0);
+
+        rootLayout.addView(messageTextView, new LinearLayout.LayoutParams(
+                MATCH_PARENT, WRAP_CONTENT));
+
+        final LinearLayout.LayoutParams progressLayoutParams = new LinearLayout.LayoutParams(
+                MATCH_PARENT, WRAP_CONTENT);
+        progressLayoutParams.setMargins(dimensions.mDp12, 0, dimensions.mDp12, dimensions.mDp4);
+
+        rootLayout.addView(createProgressBar(context, android.R.attr.progressBarStyleHorizontal),
+                progressLayoutParams);
+
+        return rootLayout;
+
+    }
+
+    /* Mirrors R.layout.supercardtoast */
+    private static View createCard(Context context, Dimensions dimensions, ViewGroup parent) {
+
+        final LinearLayout rootLayout = createCardRootLayout(context, dimensions, parent,
+                LinearLayout.HORIZONTAL);
+
+        final TextView messageTextView = createMessageTextView(context, dimensions,
+                dimensions.mTextSizeSmall, Gravity.CENTER_VERTICAL);
+
+        messageTextView.setPadding(dimensions.mDp16, dimensions.mDp8,
+                dimensions.mDp16, dimensions.mDp8);
+
+        rootLayout.addView(messageTextView, createWeightedLayoutParams());
+
+        return rootLayout;
+
+    }
+
+    /* Mirrors R.layout.supercardtoast_button */
+    private static View createCardButton(Context context, Dimensions dimensions, ViewGroup parent) {
+
+        final LinearLayout rootLayout = createCardRootLayout(context, dimensions, parent,
+                LinearLayout.HORIZONTAL);
+
+        final TextView messageTextView = createMessageTextView(context, dimensions,
+                dimensions.mTextSizeMedium, Gravity.CENTER_VERTICAL);
+
+        messageTextView.setPadding(dimensions.mDp16, dimensions.mDp12,
+                dimensions.mDp16, dimensions.mDp12);
+
+        rootLayout.addView(messageTextView, createWeightedLayoutParams());
+
+        rootLayout.addView(createDividerView(context, dimensions),
+                createDividerLayoutParams(dimensions));
+
+        final Button button = createButton(context, dimensions, dimensions.mDp4);
+
+        button.setPadding(dimensions.mDp10, button.getPaddingTop(),
+                dimensions.mDp10, button.getPaddingBottom());
+
+        rootLayout.addView(button, new LinearLayout.LayoutParams(
+                WRAP_CONTENT, MATCH_PARENT));
+
+        return rootLayout;
+
+    }
+
+    /* Mirrors R.layout.supercardtoast_progresscircle */
+    private static View createCardProgress(Context context, Dimensions dimensions, ViewGroup parent) {
+
+        final LinearLayout rootLayout = createCardRootLayout(context, dimensions, parent,
+                LinearLayout.HORIZONTAL);
+
+        final LinearLayout.LayoutParams progressLayoutParams = new LinearLayout.LayoutParams(
+                dimensions.mDp32, MATCH_PARENT);
+        progressLayoutParams.setMargins(dimensions.mDp4, dimensions.mDp4,
+                dimensions.mDp4, dimensions.mDp4);
+
+        rootLayout.addView(createProgressBar(context, android.R.attr.progressBarStyle),
+                progressLayoutParams);
+
+        final TextView messageTextView = createMessageTextView(context, dimensions,
+                dimensions.mTextSizeSmall, Gravity.CENTER_VERTICAL);
+
+        messageTextView.setPadding(0, dimensions.mDp8, dimensions.mDp16, dimensions.mDp8);
+
+        rootLayout.addView(messageTextView, createWeightedLayoutParams());
+
+        return rootLayout;
+
+    }
+
+    /* Mirrors R.layout.supercardtoast_progresshorizontal */
+    private static View createCardProgressHorizontal(Context context, Dimensions dimensions,
+                                                     ViewGroup parent) {
+
+        final LinearLayout rootLayout = createCardRootLayout(context, dimensions, parent,
+                LinearLayout.VERTICAL);
+
+        final TextView messageTextView = createMessageTextView(context, dimensions,
+                dimensions.mTextSizeSmall, Gravity.CENTER);
+
+        messageTextView.setPadding(dimensions.mDp16, dimensions.mDp8,
+                dimensions.mDp16, dimensions.mDp4);
+
+        final LinearLayout.LayoutParams textLayoutParams = new LinearLayout.LayoutParams(
+                MATCH_PARENT, WRAP_CONTENT);
+        textLayoutParams.gravity = Gravity.CENTER_VERTICAL;
+
+        rootLayout.addView(messageTextView, textLayoutParams);
+
+        final ProgressBar progressBar = createProgressBar(context,
+                android.R.attr.progressBarStyleHorizontal);
+
+        progressBar.setPadding(dimensions.mDp8, 0, dimensions.mDp8, dimensions.mDp4);
+
+        rootLayout.addView(progressBar, new LinearLayout.LayoutParams(
+                MATCH_PARENT, WRAP_CONTENT));
+
+        return rootLayout;
+
+    }
+
+    private static LinearLayout createRootLayout(Context context, int orientation) {
+
+        final LinearLayout rootLayout = new LinearLayout(context);
+
+        rootLayout.setId(R.id.root_layout);
+        rootLayout.setOrientation(orientation);
+        rootLayout.setBackgroundResource(R.drawable.background_standard_gray);
+
+        return rootLayout;
+
+    }
+
+    private static LinearLayout createCardRootLayout(Context context, Dimensions dimensions,
+                                                     ViewGroup parent, int orientation) {
+
+        final LinearLayout rootLayout = createRootLayout(context, orientation);
+
+        setRootLayoutParams(rootLayout, parent, MATCH_PARENT, WRAP_CONTENT, NO_GRAVITY,
+                dimensions.mCardToastMargin, dimensions.mCardToastMargin,
+                dimensions.mCardToastMargin, dimensions.mCardToastMargin);
+
+        return rootLayout;
+
+    }
+
+    /* Creates the same type of layout params the parent would create while inflating */
+    private static void setRootLayoutParams(View rootLayout, ViewGroup parent, int width,
+                                            int height, int gravity, int leftMargin,
+                                            int topMargin, int rightMargin, int bottomMargin) {
+
+        if (parent instanceof FrameLayout) {
+
+            final FrameLayout.LayoutParams layoutParams = new FrameLayout.LayoutParams(
+                    width, height, gravity);
+            layoutParams.setMargins(leftMargin, topMargin, rightMargin, bottomMargin);
+
+            rootLayout.setLayoutParams(layoutParams);
+
+        } else if (parent instanceof LinearLayout) {
+
+            final LinearLayout.LayoutParams layoutParams = new LinearLayout.LayoutParams(
+                    width, height);
+            layoutParams.gravity = gravity;
+            layoutParams.setMargins(leftMargin, topMargin, rightMargin, bottomMargin);
+
+            rootLayout.setLayoutParams(layoutParams);
+
+        }
+
+    }
+
+    private static TextView createMessageTextView(Context context, Dimensions dimensions,
+                                                  int textSize, int gravity) {
+
+        final TextView messageTextView = new TextView(context);
+
+        messageTextView.setId(R.id.message_textview);
+        messageTextView.setText(DEFAULT_TEXT);
+        messageTextView.setTextColor(dimensions.mWhite);
+        messageTextView.setTextSize(TypedValue.COMPLEX_UNIT_PX, textSize);
+        messageTextView.setCompoundDrawablePadding(dimensions.mDp4);
+        messageTextView.setGravity(gravity);
+
+        return messageTextView;
+
+    }
+
+    private static LinearLayout.LayoutParams createWeightedLayoutParams() {
+
+        final LinearLayout.LayoutParams layoutParams = new LinearLayout.LayoutParams(
+                0, WRAP_CONTENT, 1f);
+        layoutParams.gravity = Gravity.CENTER_VERTICAL;
+
+        return layoutParams;
+
+    }
+
+    private static View createDividerView(Context context, Dimensions dimensions) {
+
+        final View dividerView = new View(context);
+
+        dividerView.setId(R.id.divider);
+        dividerView.setBackgroundColor(dimensions.mLightGray);
+
+        return dividerView;
+
+    }
+
+    private static LinearLayout.LayoutParams createDividerLayoutParams(Dimensions dimensions) {
+
+        final LinearLayout.LayoutParams layoutParams = new LinearLayout.LayoutParams(
+                dimensions.mDp1, MATCH_PARENT);
+        layoutParams.setMargins(0, dimensions.mDp8, 0, dimensions.mDp8);
+
+        return layoutParams;
+
+    }
+
+    private static Button createButton(Context context, Dimensions dimensions, int drawablePadding) {
+
+        final Button button = new Button(context);
+
+        button.setId(R.id.button);
+        button.setBackgroundResource(R.drawable.selector_undobutton);
+        button.setCompoundDrawablesWithIntrinsicBounds(SuperToast.Icon.Dark.UNDO, 0, 0, 0);
+        button.setCompoundDrawablePadding(drawablePadding);
+        button.setText(DEFAULT_BUTTON_TEXT);
+        button.setTextSize(TypedValue.COMPLEX_UNIT_PX, dimensions.mTextSizeExtraSmall);
+        button.setTextColor(dimensions.mLightGray);
+        button.setTypeface(button.getTypeface(), Typeface.BOLD);
+
+        return button;
+
+    }
+
+    private static ProgressBar createProgressBar(Context context, int styleAttribute) {
+
+        final ProgressBar progressBar = new ProgressBar(context, null, styleAttribute);
+
+        progressBar.setId(R.id.progress_bar);
+
+        return progressBar;
+
+    }
+
+    private static Dimensions getDimensions(Resources resources) {
+
+        final DisplayMetrics displayMetrics = resources.getDisplayMetrics();
+
+        if (mDimensions == null || mDimensions.mDensity != displayMetrics.density
+                || mDimensions.mScaledDensity != displayMetrics.scaledDensity) {
+
+            mDimensions = new Dimensions(resources);
+
+        }
+
+        return mDimensions;
+
+    }
+
+    /**
+     * Pixel sizes and colors used by the layouts, resolved once per display density.
+     */
+    private static class Dimensions {
+
+        final float mDensity;
+        final float mScaledDensity;
+
+        final int mToastHover;
+        final int mButtonToastHover;
+        final int mButtonToastXPadding;
+        final int mCardToastMargin;
+
+        final int mDp1;
+        final int mDp4;
+        final int mDp8;
+        final int mDp10;
+        final int mDp12;
+        final int mDp16;
+        final int mDp32;
+        final int mDp128;
+
+        final int mTextSizeExtraSmall;
+        final int mTextSizeSmall;
+        final int mTextSizeMedium;
+
+        final int mWhite;
+        final int mLightGray;
+
+        Dimensions(Resources resources) {
+
+            final DisplayMetrics displayMetrics = resources.getDisplayMetrics();
+
+            mDensity = displayMetrics.density;
+            mScaledDensity = displayMetrics.scaledDensity;
+
+            mToastHover = resources.getDimensionPixelSize(R.dimen.toast_hover);
+            mButtonToastHover = resources.getDimensionPixelSize(R.dimen.buttontoast_hover);
+            mButtonToastXPadding = resources.getDimensionPixelSize(R.dimen.buttontoast_x_padding);
+            mCardToastMargin = resources.getDimensionPixelSize(R.dimen.cardtoast_margin);
+
+            mDp1 = toPixelSize(1, mDensity);
+            mDp4 = toPixelSize(4, mDensity);
+            mDp8 = toPixelSize(8, mDensity);
+            mDp10 = toPixelSize(10, mDensity);
+            mDp12 = toPixelSize(12, mDensity);
+            mDp16 = toPixelSize(16, mDensity);
+            mDp32 = toPixelSize(32, mDensity);
+            mDp128 = toPixelSize(128, mDensity);
+
+            mTextSizeExtraSmall = toPixelSize(SuperToast.TextSize.EXTRA_SMALL, mScaledDensity);
+            mTextSizeSmall = toPixelSize(SuperToast.TextSize.SMALL, mScaledDensity);
+            mTextSizeMedium = toPixelSize(SuperToast.TextSize.MEDIUM, mScaledDensity);
+
+            mWhite = resources.getColor(R.color.white);
+            mLightGray = resources.getColor(R.color.light_gray);
+
+        }
+
+        /* Rounds the same way as resources do for dimensions in XML */
+        private static int toPixelSize(int value, float scale) {
+
+            return Math.max(1, (int) (value * scale + 0.5f));
+
+        }
+
+    }
+
+}
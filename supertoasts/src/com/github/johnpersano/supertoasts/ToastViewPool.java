@@ -0,0 +1,459 @@
+/**
+ *  Copyright 2014 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.github.johnpersano.supertoasts;
+
+import android.annotation.SuppressLint;
+import android.app.Activity;
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.SparseArray;
+import android.util.TypedValue;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.LinearLayout;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+import java.util.LinkedList;
+import java.util.WeakHashMap;
+
+/**
+ * Pools the views of dismissed toasts so they can be reused by the next toast that
+ * uses the same layout. Views are pooled per Context and per layout. Pooled views
+ * reference their Context so the pool of an Activity should be cleared when the
+ * Activity goes away.
+ */
+class ToastViewPool {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final String TAG = "ToastViewPool";
+
+    private static final int DEFAULT_MAX_SIZE = 3;
+
+    private static ToastViewPool mToastViewPool;
+
+    private final WeakHashMap<Context, SparseArray<LinkedList<View>>> mPools;
+
+    private int mMaxSize = DEFAULT_MAX_SIZE;
+
+    private boolean mUseViewFactory;
+
+    private ToastViewPool() {
+
+        mPools = new WeakHashMap<Context, SparseArray<LinkedList<View>>>();
+
+    }
+
+    /**
+     * Singleton method to ensure all toasts share the same pool.
+     */
+    static synchronized ToastViewPool getInstance() {
+
+        if (mToastViewPool != null) {
+
+            return mToastViewPool;
+
+        } else {
+
+            mToastViewPool = new ToastViewPool();
+
+            return mToastViewPool;
+
+        }
+
+    }
+
+    /**
+     * Returns a pooled view for the layout or inflates a new one if none are pooled.
+     * The view holder of the returned view is always set.
+     */
+    View obtain(Context context, int layoutResource, ViewGroup parent) {
+
+        final LinkedList<View> pool = getPool(context, layoutResource, false);
+
+        if (pool != null && !pool.isEmpty()) {
+
+            final View view = pool.poll();
+
+            getViewHolder(view).reset();
+
+            return view;
+
+        }
+
+        return create(context, layoutResource, parent);
+
+    }
+
+    /**
+     * Creates views for the layout while the main thread is idle until the pool of the
+     * layout holds the requested amount of views. One view is created each time the
+     * main thread becomes idle so prewarming never blocks a frame for long.
+     */
+    void prewarm(final Context context, final int layoutResource, final ViewGroup parent,
+                 final int count) {
+
+        final Handler handler = new Handler(Looper.getMainLooper());
+
+        final MessageQueue.IdleHandler idleHandler = new MessageQueue.IdleHandler() {
+
+            @Override
+            public boolean queueIdle() {
+
+                /* Do not create views for an Activity that is going away */
+                if (context instanceof Activity && ((Activity) context).isFinishing()) {
+
+                    return false;
+
+                }
+
+                final LinkedList<View> pool = getPool(context, layoutResource, true);
+
+                if (pool.size() < Math.min(count, mMaxSize)) {
+
+                    pool.add(create(context, layoutResource, parent));
+
+                    /* Wait for the next idle period before creating another view */
+                    handler.post(new IdleHandlerRunnable(this));
+
+                }
+
+                return false;
+
+            }
+
+        };
+
+        handler.post(new IdleHandlerRunnable(idleHandler));
+
+    }
+
+    /**
+     * Inflates a new view for the layout without looking at the pool.
+     */
+    View create(Context context, int layoutResource, ViewGroup parent) {
+
+        View view = mUseViewFactory ? ToastViewFactory.create(context, layoutResource, parent) : null;
+
+        if (view == null) {
+
+            view = LayoutInflater.from(context).inflate(layoutResource, parent, false);
+
+        }
+
+        view.setTag(R.id.supertoasts_view_holder, new ViewHolder(view));
+
+        return view;
+
+    }
+
+    /**
+     * Returns a view to the pool. The view must already be removed from its parent.
+     */
+    void recycle(Context context, int layoutResource, View view) {
+
+        if (context == null || view == null || view.getParent() != null) {
+
+            return;
+
+        }
+
+        final LinkedList<View> pool = getPool(context, layoutResource, true);
+
+        if (pool.size() < mMaxSize && !pool.contains(view)) {
+
+            pool.add(view);
+
+        }
+
+    }
+
+    /**
+     * Sets the maximum amount of views pooled for each layout of each Context.
+     */
+    void setMaxSize(int maxSize) {
+
+        this.mMaxSize = Math.max(0, maxSize);
+
+        for (SparseArray<LinkedList<View>> pools : mPools.values()) {
+
+            for (int i = 0; i < pools.size(); i++) {
+
+                final LinkedList<View> pool = pools.valueAt(i);
+
+                while (pool.size() > mMaxSize) {
+
+                    pool.removeLast();
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * If true new views are built by {@link ToastViewFactory} instead of being inflated.
+     */
+    void setUseViewFactory(boolean useViewFactory) {
+
+        this.mUseViewFactory = useViewFactory;
+
+    }
+
+    /**
+     * Removes all pooled views of a Context.
+     */
+    void clear(Context context) {
+
+        mPools.remove(context);
+
+    }
+
+    private LinkedList<View> getPool(Context context, int layoutResource, boolean create) {
+
+        SparseArray<LinkedList<View>> pools = mPools.get(context);
+
+        if (pools == null) {
+
+            if (!create) {
+
+                return null;
+
+            }
+
+            pools = new SparseArray<LinkedList<View>>();
+
+            mPools.put(context, pools);
+
+        }
+
+        LinkedList<View> pool = pools.get(layoutResource);
+
+        if (pool == null && create) {
+
+            pool = new LinkedList<View>();
+
+            pools.put(layoutResource, pool);
+
+        }
+
+        return pool;
+
+    }
+
+    /**
+     * Returns the view holder of a view created by the pool.
+     */
+    static ViewHolder getViewHolder(View view) {
+
+        return (ViewHolder) view.getTag(R.id.supertoasts_view_holder);
+
+    }
+
+    /**
+     * Adds an IdleHandler to the queue of the main thread, must be run on the main thread.
+     */
+    private static class IdleHandlerRunnable implements Runnable {
+
+        private final MessageQueue.IdleHandler mIdleHandler;
+
+        IdleHandlerRunnable(MessageQueue.IdleHandler idleHandler) {
+
+            this.mIdleHandler = idleHandler;
+
+        }
+
+        @Override
+        public void run() {
+
+            Looper.myQueue().addIdleHandler(mIdleHandler);
+
+        }
+
+    }
+
+    /**
+     * Holds the child views of a toast layout along with the values they had when
+     * the layout was inflated so a recycled view can be reset.
+     */
+    static class ViewHolder {
+
+        final View mView;
+        final LinearLayout mRootLayout;
+        final TextView mMessageTextView;
+        final Button mButton;
+        final View mDividerView;
+        final ProgressBar mProgressBar;
+
+        /* Toast bound to the view while a SuperCardToastContainer owns it */
+        Object mOwner;
+
+        private final ViewGroup.LayoutParams mLayoutParams;
+        private final int mLayoutHeight;
+        private final Drawable mBackground;
+        private final CharSequence mText;
+        private final ColorStateList mTextColors;
+        private final float mTextSize;
+        private final Typeface mTypeface;
+        private final Drawable[] mCompoundDrawables;
+        private final CharSequence mButtonText;
+        private final ColorStateList mButtonTextColors;
+        private final float mButtonTextSize;
+        private final Typeface mButtonTypeface;
+        private final Drawable[] mButtonCompoundDrawables;
+        private final Drawable mDividerBackground;
+        private final int mMaxProgress;
+        private final boolean mIsProgressIndeterminate;
+
+        ViewHolder(View view) {
+
+            this.mView = view;
+
+            mRootLayout = (LinearLayout) view.findViewById(R.id.root_layout);
+            mMessageTextView = (TextView) view.findViewById(R.id.message_textview);
+            mButton = (Button) view.findViewById(R.id.button);
+            mDividerView = view.findViewById(R.id.divider);
+            mProgressBar = (ProgressBar) view.findViewById(R.id.progress_bar);
+
+            mLayoutParams = view.getLayoutParams();
+            mLayoutHeight = mLayoutParams != null ? mLayoutParams.height : 0;
+            mBackground = mRootLayout.getBackground();
+
+            mText = mMessageTextView.getText();
+            mTextColors = mMessageTextView.getTextColors();
+            mTextSize = mMessageTextView.getTextSize();
+            mTypeface = mMessageTextView.getTypeface();
+            mCompoundDrawables = mMessageTextView.getCompoundDrawables();
+
+            if (mButton != null) {
+
+                mButtonText = mButton.getText();
+                mButtonTextColors = mButton.getTextColors();
+                mButtonTextSize = mButton.getTextSize();
+                mButtonTypeface = mButton.getTypeface();
+                mButtonCompoundDrawables = mButton.getCompoundDrawables();
+                mDividerBackground = mDividerView.getBackground();
+
+            } else {
+
+                mButtonText = null;
+                mButtonTextColors = null;
+                mButtonTextSize = 0;
+                mButtonTypeface = null;
+                mButtonCompoundDrawables = null;
+                mDividerBackground = null;
+
+            }
+
+            if (mProgressBar != null) {
+
+                mMaxProgress = mProgressBar.getMax();
+                mIsProgressIndeterminate = mProgressBar.isIndeterminate();
+
+            } else {
+
+                mMaxProgress = 0;
+                mIsProgressIndeterminate = false;
+
+            }
+
+        }
+
+        /**
+         * Restores the values the views had when the layout was inflated.
+         */
+        @SuppressLint("NewApi")
+        @SuppressWarnings("deprecation")
+        void reset() {
+
+            mView.clearAnimation();
+            mView.setVisibility(View.VISIBLE);
+            mView.setOnTouchListener(null);
+
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB_MR1) {
+
+                /* Stop a property animation that was still running when the view was recycled */
+                mView.animate().cancel();
+
+            }
+
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB) {
+
+                /* Swipe to dismiss and the property animations change these properties */
+                mView.setAlpha(1f);
+                mView.setTranslationX(0f);
+                mView.setTranslationY(0f);
+                mView.setScaleX(1f);
+                mView.setScaleY(1f);
+
+            }
+
+            if (mLayoutParams != null) {
+
+                mLayoutParams.height = mLayoutHeight;
+
+                mView.setLayoutParams(mLayoutParams);
+
+            }
+
+            mRootLayout.setBackgroundDrawable(mBackground);
+
+            mMessageTextView.setText(mText);
+            mMessageTextView.setTextColor(mTextColors);
+            mMessageTextView.setTextSize(TypedValue.COMPLEX_UNIT_PX, mTextSize);
+            mMessageTextView.setTypeface(mTypeface);
+            mMessageTextView.setCompoundDrawables(mCompoundDrawables[0], mCompoundDrawables[1],
+                    mCompoundDrawables[2], mCompoundDrawables[3]);
+
+            if (mButton != null) {
+
+                mButton.setClickable(true);
+                mButton.setText(mButtonText);
+                mButton.setTextColor(mButtonTextColors);
+                mButton.setTextSize(TypedValue.COMPLEX_UNIT_PX, mButtonTextSize);
+                mButton.setTypeface(mButtonTypeface);
+                mButton.setCompoundDrawables(mButtonCompoundDrawables[0], mButtonCompoundDrawables[1],
+                        mButtonCompoundDrawables[2], mButtonCompoundDrawables[3]);
+
+                mDividerView.setBackgroundDrawable(mDividerBackground);
+
+            }
+
+            if (mProgressBar != null) {
+
+                mProgressBar.setIndeterminate(mIsProgressIndeterminate);
+                mProgressBar.setMax(mMaxProgress);
+                mProgressBar.setProgress(0);
+
+            }
+
+        }
+
+    }
+
+}
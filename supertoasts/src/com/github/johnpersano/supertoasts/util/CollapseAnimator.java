@@ -0,0 +1,347 @@
+/**
+ *  Copyright 2014 John Persano
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package com.github.johnpersano.supertoasts.util;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.annotation.SuppressLint;
+import android.graphics.Rect;
+import android.os.Build;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collapses views that are being dismissed without touching their layout params. The views
+ * below them in the parent are moved up with translationY and the collapsing views are
+ * clipped, so the parent is laid out once when the end action removes the views instead of
+ * on every frame. Any amount of views is driven by a single animator. Requires API 11.
+ */
+@SuppressLint("NewApi")
+public class CollapseAnimator {
+
+    @SuppressWarnings("UnusedDeclaration")
+    private static final String TAG = "CollapseAnimator";
+
+    private final List<View> mViews;
+    private final long mDuration;
+    private final Rect mClipBounds;
+
+    private boolean mIsFadeOut;
+
+    /* Views that move up, the distance they move and the translation they started with */
+    private final ArrayList<View> mMovingViews;
+    private float[] mDistances;
+    private float[] mTranslations;
+
+    /* Height each collapsing view is clipped by at the end of the collapse */
+    private int[] mCollapseHeights;
+
+    /* Layout passes of the window while the collapse runs, counted by mLayoutListener */
+    private int mLayoutCount;
+    private ViewTreeObserver mViewTreeObserver;
+
+    /**
+     * Instantiates a new CollapseAnimator for a single view.
+     *
+     * @param view The view to collapse
+     * @param duration The duration of the collapse in milliseconds
+     */
+    public CollapseAnimator(View view, long duration) {
+
+        this(Collections.singletonList(view), duration);
+
+    }
+
+    /**
+     * Instantiates a new CollapseAnimator that collapses all views at once. The views
+     * may belong to different parents.
+     *
+     * @param views The views to collapse
+     * @param duration The duration of the collapse in milliseconds
+     */
+    public CollapseAnimator(List<View> views, long duration) {
+
+        this.mViews = views;
+        this.mDuration = duration;
+        this.mClipBounds = new Rect();
+        this.mMovingViews = new ArrayList<View>();
+
+    }
+
+    /**
+     * Fades the collapsing views out during the collapse.
+     *
+     * @param fadeOut boolean
+     */
+    public CollapseAnimator setFadeOut(boolean fadeOut) {
+
+        this.mIsFadeOut = fadeOut;
+
+        return this;
+
+    }
+
+    /**
+     * Starts the collapse. The end action runs in the same frame the translations are
+     * restored so it should remove the views from their parents.
+     *
+     * @param endAction The Runnable that removes the views, can be null
+     */
+    public void start(final Runnable endAction) {
+
+        this.collectMovingViews();
+
+        final ValueAnimator animator = ValueAnimator.ofFloat(0f, 1f).setDuration(mDuration);
+
+        animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+
+            @Override
+            public void onAnimationUpdate(ValueAnimator valueAnimator) {
+
+                applyFraction(valueAnimator.getAnimatedFraction());
+
+            }
+
+        });
+
+        animator.addListener(new AnimatorListenerAdapter() {
+
+            @Override
+            public void onAnimationEnd(Animator animation) {
+
+                stopCountingLayouts();
+
+                restore();
+
+                /* Runs before the next draw so the removed views never leave a gap */
+                if (endAction != null) {
+
+                    endAction.run();
+
+                }
+
+            }
+
+        });
+
+        this.startCountingLayouts();
+
+        animator.start();
+
+    }
+
+    /**
+     * Returns how many layout passes the window of the collapsing views ran while the
+     * collapse was running. The layout caused by the end action is not counted. A collapse
+     * alone causes no layout passes so anything above zero was requested by other views.
+     *
+     * @return int
+     */
+    public int getLayoutCount() {
+
+        return mLayoutCount;
+
+    }
+
+    private void startCountingLayouts() {
+
+        if (mViews.isEmpty()) {
+
+            return;
+
+        }
+
+        mViewTreeObserver = mViews.get(0).getViewTreeObserver();
+
+        if (mViewTreeObserver.isAlive()) {
+
+            mViewTreeObserver.addOnGlobalLayoutListener(mLayoutListener);
+
+        }
+
+    }
+
+    @SuppressWarnings("deprecation")
+    private void stopCountingLayouts() {
+
+        if (mViewTreeObserver != null && mViewTreeObserver.isAlive()) {
+
+            mViewTreeObserver.removeGlobalOnLayoutListener(mLayoutListener);
+
+        }
+
+        mViewTreeObserver = null;
+
+    }
+
+    private final ViewTreeObserver.OnGlobalLayoutListener mLayoutListener =
+            new ViewTreeObserver.OnGlobalLayoutListener() {
+
+        @Override
+        public void onGlobalLayout() {
+
+            mLayoutCount++;
+
+        }
+
+    };
+
+    /* Walks every parent once and stores how far each child below a collapsing view moves */
+    private void collectMovingViews() {
+
+        final int size = mViews.size();
+
+        mCollapseHeights = new int[size];
+
+        final ArrayList<ViewGroup> parents = new ArrayList<ViewGroup>();
+
+        for (int i = 0; i < size; i++) {
+
+            final View view = mViews.get(i);
+
+            mCollapseHeights[i] = getCollapseHeight(view);
+
+            if (view.getParent() instanceof ViewGroup && !parents.contains(view.getParent())) {
+
+                parents.add((ViewGroup) view.getParent());
+
+            }
+
+        }
+
+        final ArrayList<Float> distances = new ArrayList<Float>();
+
+        for (ViewGroup parent : parents) {
+
+            int distance = 0;
+
+            for (int i = 0; i < parent.getChildCount(); i++) {
+
+                final View child = parent.getChildAt(i);
+
+                /* Collapsing views also move up by the height of collapsing views above them */
+                if (distance > 0) {
+
+                    mMovingViews.add(child);
+                    distances.add((float) distance);
+
+                }
+
+                final int index = mViews.indexOf(child);
+
+                if (index >= 0) {
+
+                    distance += mCollapseHeights[index];
+
+                }
+
+            }
+
+        }
+
+        final int count = mMovingViews.size();
+
+        mDistances = new float[count];
+        mTranslations = new float[count];
+
+        for (int i = 0; i < count; i++) {
+
+            mDistances[i] = distances.get(i);
+            mTranslations[i] = mMovingViews.get(i).getTranslationY();
+
+        }
+
+    }
+
+    private static int getCollapseHeight(View view) {
+
+        int collapseHeight = view.getHeight();
+
+        final ViewGroup.LayoutParams layoutParams = view.getLayoutParams();
+
+        if (layoutParams instanceof ViewGroup.MarginLayoutParams) {
+
+            final ViewGroup.MarginLayoutParams marginLayoutParams =
+                    (ViewGroup.MarginLayoutParams) layoutParams;
+
+            collapseHeight += marginLayoutParams.topMargin + marginLayoutParams.bottomMargin;
+
+        }
+
+        return collapseHeight;
+
+    }
+
+    private void applyFraction(float fraction) {
+
+        for (int i = 0; i < mDistances.length; i++) {
+
+            mMovingViews.get(i).setTranslationY(mTranslations[i] - mDistances[i] * fraction);
+
+        }
+
+        for (int i = 0; i < mCollapseHeights.length; i++) {
+
+            final View view = mViews.get(i);
+
+            if (mIsFadeOut) {
+
+                view.setAlpha(1f - fraction);
+
+            }
+
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+
+                mClipBounds.set(0, 0, view.getWidth(), Math.max(0,
+                        view.getHeight() - (int) (mCollapseHeights[i] * fraction)));
+
+                view.setClipBounds(mClipBounds);
+
+            }
+
+        }
+
+    }
+
+    private void restore() {
+
+        for (int i = 0; i < mTranslations.length; i++) {
+
+            mMovingViews.get(i).setTranslationY(mTranslations[i]);
+
+        }
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+
+            for (View view : mViews) {
+
+                view.setClipBounds(null);
+
+            }
+
+        }
+
+    }
+
+}
@@ -19,7 +19,6 @@ package com.github.johnpersano.supertoasts.util;
 
 import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
-import android.animation.ValueAnimator;
 import android.annotation.SuppressLint;
 import android.view.*;
 
@@ -204,16 +203,11 @@ public class SwipeDismissListener implements View.OnTouchListener {
 
     private void performDismiss() {
 
-        final ViewGroup.LayoutParams lp = mView.getLayoutParams();
-        final int originalHeight = mView.getHeight();
-
-        ValueAnimator animator = ValueAnimator.ofInt(originalHeight, 1)
-                .setDuration(mAnimationTime);
-
-        animator.addListener(new AnimatorListenerAdapter() {
+        /* Collapses with translations so the parent is only laid out once */
+        new CollapseAnimator(mView, mAnimationTime).start(new Runnable() {
 
             @Override
-            public void onAnimationEnd(Animator animation) {
+            public void run() {
 
                 mCallback.onDismiss(mView);
 
@@ -221,20 +215,6 @@ public class SwipeDismissListener implements View.OnTouchListener {
 
         });
 
-        animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-
-            @Override
-            public void onAnimationUpdate(ValueAnimator valueAnimator) {
-
-                lp.height = (Integer) valueAnimator.getAnimatedValue();
-                mView.setLayoutParams(lp);
-
-            }
-
-        });
-
-        animator.start();
-
     }
 
 }